@@ -0,0 +1,78 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.TodoBackendApplication;
+import com.todoapp.dto.TodoRequest;
+import com.todoapp.model.Role;
+import com.todoapp.model.User;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.service.TodoService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The application started once per JMH fork on the in-memory H2 "test"
+ * profile, so benchmarks measure the real beans with their real wiring.
+ *
+ * <p>Run all benchmarks with {@code mvn -Pbenchmarks verify}; results are
+ * written to {@code target/jmh-result.json}. Pass JMH options through
+ * {@code -Djmh.args="SecurityBenchmark -f 1 -wi 2 -i 3"}.</p>
+ */
+public final class BenchmarkContext {
+
+    private static ConfigurableApplicationContext context;
+    private static int userSequence;
+
+    private BenchmarkContext() {}
+
+    public static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            // System properties, so they win over application-test.yml
+            System.setProperty("server.port", "0");
+            System.setProperty("spring.jpa.show-sql", "false");
+            System.setProperty("logging.level.root", "WARN");
+            System.setProperty("logging.level.com.todoapp", "WARN");
+            System.setProperty("logging.level.org.springframework.security", "WARN");
+            System.setProperty("logging.level.org.hibernate.SQL", "WARN");
+            System.setProperty("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+            // JMH calls setup off the main thread; keep devtools from trying to restart the context
+            System.setProperty("spring.devtools.restart.enabled", "false");
+
+            context = new SpringApplicationBuilder(TodoBackendApplication.class)
+                    .profiles("test")
+                    .run();
+        }
+        return context;
+    }
+
+    public static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+
+    /**
+     * Saves a fresh user, optionally with {@code todos} pending todos.
+     */
+    public static synchronized User createUser(int todos) {
+        String name = "bench" + (++userSequence);
+        User user = new User(name, name + "@bench.local", bean(PasswordEncoder.class).encode("benchmark"));
+        user.setRole(Role.USER);
+        user = bean(UserRepository.class).save(user);
+
+        TodoService todoService = bean(TodoService.class);
+        for (int i = 0; i < todos; i++) {
+            todoService.createTodo(new TodoRequest("Seeded todo " + i, "Description of todo " + i), user.getId());
+        }
+        return user;
+    }
+
+    /**
+     * Stops the application; call from a trial tear-down so the forked VM
+     * is not kept alive by the scheduler and web server threads.
+     */
+    public static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.todoapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.mapper.TodoMapper;
+import com.todoapp.model.Category;
+import com.todoapp.model.Priority;
+import com.todoapp.model.Todo;
+import com.todoapp.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a page of todos with the application's ObjectMapper, as DTOs
+ * and as entities for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"50", "200"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Todo> todos;
+    private List<TodoResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkContext.bean(ObjectMapper.class);
+        TodoMapper todoMapper = BenchmarkContext.bean(TodoMapper.class);
+
+        User user = new User("bench", "bench@bench.local", "secret");
+        user.setId(1L);
+        Category category = new Category("Work", "#1976d2", user);
+        category.setId(1L);
+
+        LocalDateTime now = LocalDateTime.now();
+        todos = new ArrayList<>();
+        responses = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Todo todo = new Todo("Todo number " + i, "A description long enough to look like real user text " + i, user);
+            todo.setId((long) i);
+            todo.setPriority(Priority.values()[i % Priority.values().length]);
+            todo.setDueDate(now.plusDays(i % 10));
+            todo.setCreatedAt(now.minusHours(i));
+            todo.setUpdatedAt(now);
+            if (i % 2 == 0) {
+                todo.setCategory(category);
+            }
+            todos.add(todo);
+            responses.add(todoMapper.toResponse(todo));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public byte[] serializeTodoResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeTodoEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(todos);
+    }
+}
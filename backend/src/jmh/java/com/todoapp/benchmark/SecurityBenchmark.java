@@ -0,0 +1,120 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.User;
+import com.todoapp.security.AuthTokenFilter;
+import com.todoapp.security.JwtTokenCache;
+import com.todoapp.security.JwtUtils;
+import com.todoapp.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication throughput: token signing and verification,
+ * the verified-token cache and the whole {@link AuthTokenFilter}.
+ *
+ * <p>{@code baselineVerifyJwtToken} repeats what the filter did before the
+ * key ring: derive the key and build a parser for the validity check, then
+ * again to read the subject. Compare it with {@code verifyJwtToken} for the
+ * before/after tokens per second.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private JwtUtils jwtUtils;
+    private JwtTokenCache jwtTokenCache;
+    private AuthTokenFilter authTokenFilter;
+    private User user;
+    private Authentication authentication;
+    private String token;
+    private Claims claims;
+    private byte[] secret;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtils = BenchmarkContext.bean(JwtUtils.class);
+        jwtTokenCache = BenchmarkContext.bean(JwtTokenCache.class);
+        authTokenFilter = BenchmarkContext.bean(AuthTokenFilter.class);
+
+        user = BenchmarkContext.createUser(0);
+        UserPrincipal principal = UserPrincipal.create(user);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = jwtUtils.generateJwtToken(authentication);
+        claims = jwtUtils.getValidatedClaims(token);
+        secret = BenchmarkContext.bean(Environment.class).getRequiredProperty("jwt.secret")
+                .getBytes(StandardCharsets.UTF_8);
+
+        // Warm the verified-token and token-version caches the filter relies on
+        authenticate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String baselineVerifyJwtToken() {
+        // validateJwtToken, then getUserNameFromJwtToken, each with a fresh key and parser
+        Jwts.parser().verifyWith(Keys.hmacShaKeyFor(secret)).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(Keys.hmacShaKeyFor(secret)).build()
+                .parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public Claims verifyJwtToken() {
+        return jwtUtils.getValidatedClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return jwtTokenCache.getVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public Authentication authTokenFilter() throws Exception {
+        return authenticate();
+    }
+
+    @Benchmark
+    public UserPrincipal userPrincipalFromUser() {
+        return UserPrincipal.create(user);
+    }
+
+    @Benchmark
+    public UserPrincipal userPrincipalFromClaims() {
+        return jwtUtils.getUserPrincipalFromClaims(claims);
+    }
+
+    private Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.dto.CursorPage;
+import com.todoapp.dto.TodoBatchRequest;
+import com.todoapp.dto.TodoBatchResponse;
+import com.todoapp.dto.TodoRequest;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TodoService CRUD against in-memory H2. Absolute numbers are not those of
+ * PostgreSQL, but the statement count per operation is the same, which is
+ * what regressions usually change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoServiceBenchmark {
+
+    private static final int SEEDED_TODOS = 1000;
+    private static final int BULK_SIZE = 500;
+
+    private TodoService todoService;
+    private Long readerId;
+    private Long writerId;
+    private Long todoId;
+    private TodoRequest request;
+    private TodoBatchRequest bulkCreate;
+
+    @Setup
+    public void setUp() {
+        todoService = BenchmarkContext.bean(TodoService.class);
+        // Reads and writes use different users so the read data set does not grow
+        readerId = BenchmarkContext.createUser(SEEDED_TODOS).getId();
+        writerId = BenchmarkContext.createUser(0).getId();
+
+        request = new TodoRequest("Benchmark todo", "Written by TodoServiceBenchmark");
+        todoId = todoService.createTodo(request, writerId).getId();
+
+        List<TodoRequest> creates = new ArrayList<>();
+        for (int i = 0; i < BULK_SIZE; i++) {
+            creates.add(new TodoRequest("Imported todo " + i, "Bulk insert benchmark"));
+        }
+        bulkCreate = new TodoBatchRequest();
+        bulkCreate.setCreate(creates);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public Todo createTodo() {
+        return todoService.createTodo(request, writerId);
+    }
+
+    /**
+     * Insert throughput for large lists: {@value #BULK_SIZE} rows per call,
+     * sent as JDBC batches thanks to pooled sequence ids.
+     */
+    @Benchmark
+    public TodoBatchResponse createTodosInBulk() {
+        return todoService.applyBatch(bulkCreate, writerId);
+    }
+
+    @Benchmark
+    public Todo updateTodo() {
+        return todoService.updateTodo(todoId, request, writerId);
+    }
+
+    @Benchmark
+    public Todo toggleTodo() {
+        return todoService.toggleTodo(todoId, writerId);
+    }
+
+    @Benchmark
+    public Optional<TodoResponse> getTodoById() {
+        return todoService.getTodoById(todoId, writerId);
+    }
+
+    @Benchmark
+    public CursorPage<TodoResponse> getFirstPage() {
+        return todoService.getTodoPage(readerId, null, null, null, 50);
+    }
+
+    @Benchmark
+    public CursorPage<TodoResponse> searchTodos() {
+        return todoService.getTodoPage(readerId, null, "todo 42", null, 50);
+    }
+}
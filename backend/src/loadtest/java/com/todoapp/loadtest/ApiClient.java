@@ -0,0 +1,84 @@
+package com.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin blocking JSON client over {@link HttpClient}. Every request carries the
+ * endpoint label in {@value #ENDPOINT_HEADER} so the server side can attribute
+ * SQL statements to it.
+ */
+public class ApiClient {
+
+    public static final String ENDPOINT_HEADER = "X-Load-Endpoint";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public Response get(String label, String path, String token) throws IOException, InterruptedException {
+        return send(label, request(path, token).GET());
+    }
+
+    public Response post(String label, String path, String token, Object body) throws IOException, InterruptedException {
+        return send(label, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))));
+    }
+
+    public Response patch(String label, String path, String token) throws IOException, InterruptedException {
+        return send(label, request(path, token).method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    public JsonNode readTree(Response response) throws IOException {
+        return objectMapper.readTree(response.body);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(String label, HttpRequest.Builder builder) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(builder.header(ENDPOINT_HEADER, label).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    public static final class Response {
+        private final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
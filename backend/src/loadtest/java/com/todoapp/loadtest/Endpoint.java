@@ -0,0 +1,27 @@
+package com.todoapp.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The operations the load generator can issue; each is reported separately.
+ */
+public enum Endpoint {
+    SIGNIN,
+    LIST,
+    STATS,
+    SEARCH,
+    TOGGLE;
+
+    public String getLabel() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Endpoint fromName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.getLabel().equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + name);
+    }
+}
@@ -0,0 +1,134 @@
+package com.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms, error counts and SQL statement counts per endpoint.
+ * Latencies are recorded in microseconds.
+ */
+public class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final boolean countSql;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+    public LoadReport(boolean countSql) {
+        this.countSql = countSql;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public void record(Endpoint endpoint, long nanos, boolean success) {
+        latencies.get(endpoint).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    /**
+     * Forgets everything recorded so far; called when the warm-up ends.
+     */
+    public void start() {
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+        SqlCountingFilter.reset();
+        startedAt = System.nanoTime();
+    }
+
+    public void stop() {
+        stoppedAt = System.nanoTime();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedSeconds();
+        long totalRequests = 0;
+
+        out.printf("%n%-8s %9s %7s %9s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "sql/req");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            totalRequests += count;
+            out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8s%n",
+                    endpoint.getLabel(), count, errors.get(endpoint).sum(), count / seconds,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0,
+                    countSql ? String.format("%.2f", sqlPerRequest(endpoint)) : "n/a");
+        }
+        out.printf("%ntotal %d requests in %.1f s, %.1f req/s%n", totalRequests, seconds, totalRequests / seconds);
+    }
+
+    public void write(File file, LoadTestOptions options) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode root = mapper.createObjectNode();
+        root.put("profiles", options.getProfiles());
+        root.put("javaVersion", System.getProperty("java.version"));
+        root.put("users", options.getUsers());
+        root.put("todosPerUser", options.getTodosPerUser());
+        root.put("skew", options.getSkew());
+        root.put("concurrency", options.getConcurrency());
+        root.put("durationSeconds", elapsedSeconds());
+
+        ArrayNode endpoints = root.putArray("endpoints");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", endpoint.getLabel());
+            node.put("requests", histogram.getTotalCount());
+            node.put("errors", errors.get(endpoint).sum());
+            node.put("throughput", histogram.getTotalCount() / elapsedSeconds());
+            node.put("p50Ms", millis(histogram, 50));
+            node.put("p90Ms", millis(histogram, 90));
+            node.put("p99Ms", millis(histogram, 99));
+            node.put("p999Ms", millis(histogram, 99.9));
+            node.put("maxMs", histogram.getMaxValue() / 1000.0);
+            if (countSql) {
+                node.put("sqlPerRequest", sqlPerRequest(endpoint));
+            }
+        }
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        mapper.writeValue(file, root);
+    }
+
+    private double sqlPerRequest(Endpoint endpoint) {
+        return (double) SqlCountingFilter.total(endpoint.getLabel()) / latencies.get(endpoint).getTotalCount();
+    }
+
+    private double elapsedSeconds() {
+        long end = stoppedAt != 0 ? stoppedAt : System.nanoTime();
+        return (end - startedAt) / 1_000_000_000.0;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
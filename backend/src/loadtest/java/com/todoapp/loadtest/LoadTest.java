@@ -0,0 +1,164 @@
+package com.todoapp.loadtest;
+
+import com.todoapp.TodoBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop HTTP load generator for the todo API.
+ *
+ * <p>Boots the application (or targets {@code --base-url}), seeds
+ * {@code --users} users with about {@code --todos-per-user} todos each, then
+ * runs {@code --concurrency} workers that each send the next request as soon
+ * as the previous one completed, for {@code --warmup} plus {@code --duration}
+ * seconds. Results are printed and written to {@code --out}.</p>
+ *
+ * <pre>
+ *   mvn -Ploadtest verify -Dloadtest.args="--users=200 --todos-per-user=500 --concurrency=64"
+ *   mvn -Ploadtest,jdk21 verify -Dloadtest.args="--profiles=test,virtual-threads"
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.getBaseUrl();
+        if (baseUrl.isEmpty()) {
+            context = boot(options);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+        }
+
+        try {
+            ApiClient client = new ApiClient(baseUrl);
+            System.out.printf("Seeding %d users x ~%d todos (skew %.2f) on %s%n",
+                    options.getUsers(), options.getTodosPerUser(), options.getSkew(), baseUrl);
+            long seedStart = System.nanoTime();
+            List<SeededUser> users = new Seeder(client, options).seed();
+            System.out.printf("Seeded in %.1f s%n", (System.nanoTime() - seedStart) / 1_000_000_000.0);
+
+            LoadReport report = new LoadReport(context != null);
+            run(client, users, options, report);
+            report.print(System.out);
+            report.write(new File(options.getOut()), options);
+            System.out.println("Results written to " + options.getOut());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) {
+        // System properties, so they win over the profile's yml
+        System.setProperty("server.port", "0");
+        System.setProperty("spring.jpa.show-sql", "false");
+        System.setProperty("logging.level.root", "WARN");
+        System.setProperty("logging.level.com.todoapp", "WARN");
+        System.setProperty("logging.level.org.springframework.security", "WARN");
+        System.setProperty("logging.level.org.hibernate.SQL", "WARN");
+        System.setProperty("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Every simulated user signs in from the same address
+        System.setProperty("rate-limit.enabled", "false");
+
+        // Outermost, so the application's per-request SQL count is known when it unwinds
+        FilterRegistrationBean<SqlCountingFilter> sqlCounter = new FilterRegistrationBean<>(new SqlCountingFilter());
+        sqlCounter.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        return new SpringApplicationBuilder(TodoBackendApplication.class)
+                .profiles(options.getProfiles().split(","))
+                .initializers(context -> context.getBeanFactory().registerSingleton("loadTestSqlCounter", sqlCounter))
+                .run();
+    }
+
+    private static void run(ApiClient client, List<SeededUser> users, LoadTestOptions options,
+                            LoadReport report) throws InterruptedException {
+        Map<Endpoint, Integer> mix = options.getMix();
+        Endpoint[] endpoints = mix.keySet().toArray(new Endpoint[0]);
+        int[] cumulativeWeights = new int[endpoints.length];
+        int weightSum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            weightSum += mix.get(endpoints[i]);
+            cumulativeWeights[i] = weightSum;
+        }
+        int totalWeight = weightSum;
+
+        ZipfSampler userSampler = new ZipfSampler(users.size(), options.getSkew());
+        long warmupEnd = System.nanoTime() + options.getWarmup().toNanos();
+        long end = warmupEnd + options.getDuration().toNanos();
+
+        System.out.printf("Running %d workers: %ds warm-up, %ds measured, mix %s%n", options.getConcurrency(),
+                options.getWarmup().getSeconds(), options.getDuration().getSeconds(), mix);
+        CountDownLatch done = new CountDownLatch(options.getConcurrency());
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < options.getConcurrency(); w++) {
+            Random random = new Random(options.getSeed() * 31 + w);
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        int pick = random.nextInt(totalWeight);
+                        int index = 0;
+                        while (cumulativeWeights[index] <= pick) {
+                            index++;
+                        }
+                        SeededUser user = users.get(userSampler.next(random));
+                        long start = System.nanoTime();
+                        boolean success = execute(client, endpoints[index], user, random);
+                        report.record(endpoints[index], System.nanoTime() - start, success);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-worker-" + w);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        Thread.sleep(Math.max(0, (warmupEnd - System.nanoTime()) / 1_000_000));
+        report.start();
+        done.await();
+        report.stop();
+    }
+
+    private static boolean execute(ApiClient client, Endpoint endpoint, SeededUser user, Random random) {
+        try {
+            switch (endpoint) {
+                case SIGNIN:
+                    Seeder.signIn(client, user.getUsername());
+                    return true;
+                case LIST:
+                    return client.get(endpoint.getLabel(), "/api/todos?size=20", user.getToken()).isSuccess();
+                case STATS:
+                    return client.get(endpoint.getLabel(), "/api/todos/stats", user.getToken()).isSuccess();
+                case SEARCH:
+                    String term = Seeder.NOUNS[random.nextInt(Seeder.NOUNS.length)];
+                    return client.get(endpoint.getLabel(), "/api/todos?size=20&search=" + term,
+                            user.getToken()).isSuccess();
+                case TOGGLE:
+                    long[] ids = user.getTodoIds();
+                    long id = ids[random.nextInt(ids.length)];
+                    return client.patch(endpoint.getLabel(), "/api/todos/" + id + "/toggle",
+                            user.getToken()).isSuccess();
+                default:
+                    throw new IllegalStateException("Unhandled endpoint " + endpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
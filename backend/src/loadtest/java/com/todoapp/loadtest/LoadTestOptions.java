@@ -0,0 +1,96 @@
+package com.todoapp.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}.
+ */
+public class LoadTestOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public LoadTestOptions(String[] args) {
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+    }
+
+    /** Base URL of an already running instance, including the context path; empty to boot one. */
+    public String getBaseUrl() {
+        return get("base-url", "");
+    }
+
+    /** Spring profiles of the booted application, e.g. {@code test,virtual-threads}. */
+    public String getProfiles() {
+        return get("profiles", "test");
+    }
+
+    public int getUsers() {
+        return getInt("users", 50);
+    }
+
+    public int getTodosPerUser() {
+        return getInt("todos-per-user", 200);
+    }
+
+    /**
+     * Zipf exponent used both for how todos are spread over users and for how
+     * often each user is picked; 0 is uniform, 1 gives a few very heavy users.
+     */
+    public double getSkew() {
+        return Double.parseDouble(get("skew", "1.0"));
+    }
+
+    public int getConcurrency() {
+        return getInt("concurrency", 16);
+    }
+
+    public Duration getWarmup() {
+        return Duration.ofSeconds(getInt("warmup", 10));
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(getInt("duration", 30));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(get("seed", "42"));
+    }
+
+    public String getOut() {
+        return get("out", "target/loadtest-result.json");
+    }
+
+    /**
+     * Relative weights per endpoint, e.g. {@code list=40,stats=15,search=20,toggle=20,signin=5}.
+     */
+    public Map<Endpoint, Integer> getMix() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : get("mix", "list=40,stats=15,search=20,toggle=20,signin=5").split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            mix.put(Endpoint.fromName(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    private String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    private int getInt(String name, int defaultValue) {
+        return Integer.parseInt(get(name, String.valueOf(defaultValue)));
+    }
+}
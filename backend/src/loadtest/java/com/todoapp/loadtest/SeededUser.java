@@ -0,0 +1,29 @@
+package com.todoapp.loadtest;
+
+/**
+ * A user created by the seeder, with its token and the ids of its todos.
+ */
+public class SeededUser {
+
+    private final String username;
+    private final String token;
+    private final long[] todoIds;
+
+    public SeededUser(String username, String token, long[] todoIds) {
+        this.username = username;
+        this.token = token;
+        this.todoIds = todoIds;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public long[] getTodoIds() {
+        return todoIds;
+    }
+}
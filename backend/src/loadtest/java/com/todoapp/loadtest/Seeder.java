@@ -0,0 +1,112 @@
+package com.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the data set through the public API: users sign up and sign in, and
+ * their todos are created with {@code POST /todos/batch}.
+ *
+ * <p>Todos are spread over users by a Zipf distribution, so with a skew of 1
+ * the first user owns far more todos than the last one.</p>
+ */
+public class Seeder {
+
+    public static final String PASSWORD = "loadtest-password";
+
+    // Titles are built from these so search terms hit a realistic share of rows
+    static final String[] VERBS = {"buy", "call", "write", "review", "fix", "plan", "book", "clean", "send", "read"};
+    static final String[] NOUNS = {"groceries", "report", "invoice", "tickets", "garden", "slides", "budget",
+            "car", "letter", "meeting", "backup", "dentist"};
+
+    private static final int BATCH_SIZE = 500;
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+
+    public Seeder(ApiClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    public List<SeededUser> seed() throws Exception {
+        int users = options.getUsers();
+        long total = (long) users * options.getTodosPerUser();
+        double weightSum = 0;
+        for (int i = 0; i < users; i++) {
+            weightSum += ZipfSampler.weight(i, options.getSkew());
+        }
+
+        // Unique per run so an external database can be seeded more than once
+        String prefix = "lt" + Long.toString(System.currentTimeMillis(), 36);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(options.getConcurrency(), 16));
+        try {
+            List<Future<SeededUser>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                int rank = i;
+                int todos = (int) Math.max(1, Math.round(total * ZipfSampler.weight(rank, options.getSkew()) / weightSum));
+                futures.add(executor.submit(() -> seedUser(prefix + "u" + rank, todos, new Random(options.getSeed() + rank))));
+            }
+            List<SeededUser> seeded = new ArrayList<>();
+            for (Future<SeededUser> future : futures) {
+                seeded.add(future.get());
+            }
+            return seeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SeededUser seedUser(String username, int todos, Random random) throws Exception {
+        Map<String, String> signup = new LinkedHashMap<>();
+        signup.put("username", username);
+        signup.put("email", username + "@loadtest.local");
+        signup.put("password", PASSWORD);
+        expectSuccess(client.post("seed", "/api/auth/signup", null, signup), "sign up " + username);
+        String token = signIn(client, username);
+
+        long[] ids = new long[todos];
+        int created = 0;
+        while (created < todos) {
+            int count = Math.min(BATCH_SIZE, todos - created);
+            List<Map<String, Object>> create = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Map<String, Object> todo = new LinkedHashMap<>();
+                todo.put("title", VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                        + " " + (created + i));
+                todo.put("description", "Seeded by the load test");
+                todo.put("priority", PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                create.add(todo);
+            }
+
+            ApiClient.Response response = client.post("seed", "/api/todos/batch", token, Map.of("create", create));
+            expectSuccess(response, "seed todos for " + username);
+            for (JsonNode result : client.readTree(response).path("results")) {
+                ids[created++] = result.path("todo").path("id").asLong();
+            }
+        }
+        return new SeededUser(username, token, ids);
+    }
+
+    static String signIn(ApiClient client, String username) throws Exception {
+        ApiClient.Response response = client.post(Endpoint.SIGNIN.getLabel(), "/api/auth/signin", null,
+                Map.of("username", username, "password", PASSWORD));
+        expectSuccess(response, "sign in " + username);
+        return client.readTree(response).path("token").asText();
+    }
+
+    private static void expectSuccess(ApiClient.Response response, String action) {
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Could not " + action + ": HTTP " + response.getStatus());
+        }
+    }
+}
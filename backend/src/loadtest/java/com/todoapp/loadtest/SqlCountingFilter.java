@@ -0,0 +1,50 @@
+package com.todoapp.loadtest;
+
+import com.todoapp.metrics.SqlStatementMetricsFilter;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adds up the SQL statements of each request per endpoint label, taken from
+ * {@link ApiClient#ENDPOINT_HEADER}. The count itself comes from the
+ * application's {@link SqlStatementMetricsFilter}, so this filter has to be
+ * registered outside of it.
+ *
+ * <p>Only available when the load test boots the application itself.</p>
+ */
+public class SqlCountingFilter implements Filter {
+
+    private static final Map<String, LongAdder> TOTALS = new ConcurrentHashMap<>();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            String label = ((HttpServletRequest) request).getHeader(ApiClient.ENDPOINT_HEADER);
+            Object statements = request.getAttribute(SqlStatementMetricsFilter.STATEMENTS_ATTRIBUTE);
+            if (label != null && statements != null) {
+                TOTALS.computeIfAbsent(label, key -> new LongAdder()).add((Integer) statements);
+            }
+        }
+    }
+
+    public static long total(String label) {
+        LongAdder total = TOTALS.get(label);
+        return total != null ? total.sum() : 0;
+    }
+
+    public static void reset() {
+        TOTALS.clear();
+    }
+}
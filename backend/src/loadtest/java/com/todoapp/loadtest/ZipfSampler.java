@@ -0,0 +1,40 @@
+package com.todoapp.loadtest;
+
+import java.util.Random;
+
+/**
+ * Picks ranks {@code 0..n-1} with probability proportional to
+ * {@code 1 / (rank + 1)^exponent}.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += weight(i, exponent);
+            cumulative[i] = sum;
+        }
+    }
+
+    public static double weight(int rank, double exponent) {
+        return 1.0 / Math.pow(rank + 1, exponent);
+    }
+
+    public int next(Random random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,47 @@
+package com.todoapp.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs streamed response bodies (todo export and import) on a bounded pool
+ * of their own, so a few long transfers cannot starve the shared
+ * applicationTaskExecutor. Transfers beyond the queue are refused with 503.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${todos.streaming.threads:8}")
+    private int threads;
+
+    @Value("${todos.streaming.queue-capacity:100}")
+    private int queueCapacity;
+
+    // Not a bean: an Executor bean would replace Spring Boot's applicationTaskExecutor
+    private ThreadPoolTaskExecutor streamingExecutor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        streamingExecutor = new ThreadPoolTaskExecutor();
+        streamingExecutor.setCorePoolSize(threads);
+        streamingExecutor.setMaxPoolSize(threads);
+        streamingExecutor.setQueueCapacity(queueCapacity);
+        streamingExecutor.setThreadNamePrefix("streaming-");
+        streamingExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        streamingExecutor.initialize();
+        configurer.setTaskExecutor(streamingExecutor);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (streamingExecutor != null) {
+            streamingExecutor.shutdown();
+        }
+    }
+}
@@ -3,14 +3,18 @@ package com.todoapp.controller;
 import com.todoapp.dto.JwtResponse;
 import com.todoapp.dto.LoginRequest;
 import com.todoapp.dto.RegisterRequest;
+import com.todoapp.mapper.UserMapper;
 import com.todoapp.model.User;
+import com.todoapp.security.PasswordHashingRejectedException;
 import com.todoapp.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,11 +26,16 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private UserMapper userMapper;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
             JwtResponse jwtResponse = authService.authenticateUser(loginRequest);
             return ResponseEntity.ok(jwtResponse);
+        } catch (PasswordHashingRejectedException e) {
+            return hashingOverloaded(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid username or password");
@@ -44,6 +53,8 @@ public class AuthController {
             response.put("username", user.getUsername());
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            return hashingOverloaded(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -82,7 +93,7 @@ public class AuthController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Profile updated successfully!");
-            response.put("user", updatedUser);
+            response.put("user", userMapper.toResponse(updatedUser));
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -105,12 +116,12 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(error);
             }
             
-            authService.changePassword(currentPassword, newPassword);
+            // The caller's old token is revoked along with the rest; return its replacement
+            JwtResponse jwtResponse = authService.changePassword(currentPassword, newPassword);
             
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Password changed successfully!");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(jwtResponse);
+        } catch (PasswordHashingRejectedException e) {
+            return hashingOverloaded(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -145,4 +156,29 @@ public class AuthController {
         response.put("message", "You've been signed out!");
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/signout-all")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> logoutAllSessions() {
+        try {
+            authService.revokeAllTokens();
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "All sessions have been signed out!");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Not a credentials problem: the client should back off and try again
+    private ResponseEntity<?> hashingOverloaded(PasswordHashingRejectedException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 }
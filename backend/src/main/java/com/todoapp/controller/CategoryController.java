@@ -1,6 +1,8 @@
 package com.todoapp.controller;
 
 import com.todoapp.dto.CategoryRequest;
+import com.todoapp.dto.CategoryResponse;
+import com.todoapp.mapper.CategoryMapper;
 import com.todoapp.model.Category;
 import com.todoapp.service.AuthService;
 import com.todoapp.service.CategoryService;
@@ -9,7 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,14 +26,17 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private CategoryMapper categoryMapper;
+
     @Autowired
     private AuthService authService;
 
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories(@RequestParam(required = false) String search) {
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(@RequestParam(required = false) String search) {
         try {
             Long userId = authService.getCurrentUserId();
-            List<Category> categories;
+            List<CategoryResponse> categories;
 
             if (search != null && !search.trim().isEmpty()) {
                 categories = categoryService.searchCategories(search.trim(), userId);
@@ -45,11 +50,23 @@ public class CategoryController {
         }
     }
 
+    @GetMapping("/with-todos")
+    public ResponseEntity<List<CategoryResponse>> getCategoriesWithTodoCounts(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        try {
+            Long userId = authService.getCurrentUserId();
+            return ResponseEntity.ok(categoryService.getCategoryPageWithTodoCounts(userId, page, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
         try {
             Long userId = authService.getCurrentUserId();
-            Optional<Category> category = categoryService.getCategoryById(id, userId);
+            Optional<CategoryResponse> category = categoryService.getCategoryById(id, userId);
             
             if (category.isPresent()) {
                 return ResponseEntity.ok(category.get());
@@ -66,7 +83,7 @@ public class CategoryController {
         try {
             Long userId = authService.getCurrentUserId();
             Category category = categoryService.createCategory(categoryRequest, userId);
-            return ResponseEntity.ok(category);
+            return ResponseEntity.ok(categoryMapper.toResponse(category));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -79,7 +96,7 @@ public class CategoryController {
         try {
             Long userId = authService.getCurrentUserId();
             Category category = categoryService.updateCategory(id, categoryRequest, userId);
-            return ResponseEntity.ok(category);
+            return ResponseEntity.ok(categoryMapper.toResponse(category));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
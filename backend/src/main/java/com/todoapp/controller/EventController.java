@@ -0,0 +1,28 @@
+package com.todoapp.controller;
+
+import com.todoapp.service.AuthService;
+import com.todoapp.sse.TodoEventStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/events")
+@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+public class EventController {
+
+    @Autowired
+    private TodoEventStream todoEventStream;
+
+    @Autowired
+    private AuthService authService;
+
+    // Server-Sent Events stream of the current user's todo and category changes
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return todoEventStream.subscribe(authService.getCurrentUserId());
+    }
+}
@@ -1,15 +1,34 @@
 package com.todoapp.controller;
 
+import com.todoapp.dto.CursorPage;
+import com.todoapp.dto.TodoAgenda;
+import com.todoapp.dto.TodoBatchRequest;
+import com.todoapp.dto.TodoBatchResponse;
+import com.todoapp.dto.TodoChanges;
 import com.todoapp.dto.TodoRequest;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.dto.TodoStats;
+import com.todoapp.export.TodoExportFormat;
+import com.todoapp.mapper.TodoMapper;
 import com.todoapp.model.Todo;
 import com.todoapp.service.AuthService;
+import com.todoapp.service.TodoExportService;
+import com.todoapp.service.TodoImportService;
+import com.todoapp.service.TodoStatsService;
+import com.todoapp.service.TodoSyncService;
 import com.todoapp.service.TodoService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,36 +43,46 @@ public class TodoController {
     @Autowired
     private TodoService todoService;
 
+    @Autowired
+    private TodoStatsService todoStatsService;
+
+    @Autowired
+    private TodoExportService todoExportService;
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private TodoSyncService todoSyncService;
+
+    @Autowired
+    private TodoMapper todoMapper;
+
     @Autowired
     private AuthService authService;
 
     @GetMapping
-    public ResponseEntity<List<Todo>> getAllTodos(
+    public ResponseEntity<CursorPage<TodoResponse>> getAllTodos(
             @RequestParam(required = false) Boolean completed,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
             Long userId = authService.getCurrentUserId();
-            List<Todo> todos;
+            String query = search != null && !search.trim().isEmpty() ? search.trim() : null;
 
-            if (search != null && !search.trim().isEmpty()) {
-                todos = todoService.searchTodos(search.trim(), userId);
-            } else if (completed != null) {
-                todos = todoService.getTodosByCompleted(completed, userId);
-            } else {
-                todos = todoService.getAllTodosByUser(userId);
-            }
-
-            return ResponseEntity.ok(todos);
+            CursorPage<TodoResponse> page = todoService.getTodoPage(userId, completed, query, cursor, size);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Todo> getTodoById(@PathVariable Long id) {
+    public ResponseEntity<TodoResponse> getTodoById(@PathVariable Long id) {
         try {
             Long userId = authService.getCurrentUserId();
-            Optional<Todo> todo = todoService.getTodoById(id, userId);
+            Optional<TodoResponse> todo = todoService.getTodoById(id, userId);
             
             if (todo.isPresent()) {
                 return ResponseEntity.ok(todo.get());
@@ -70,7 +99,64 @@ public class TodoController {
         try {
             Long userId = authService.getCurrentUserId();
             Todo todo = todoService.createTodo(todoRequest, userId);
-            return ResponseEntity.ok(todo);
+            return ResponseEntity.ok(todoMapper.toResponse(todo));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since) {
+        try {
+            Long userId = authService.getCurrentUserId();
+            TodoChanges changes = todoSyncService.getChanges(userId, since);
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(@RequestParam(defaultValue = "ndjson") String format) {
+        // An unknown format is rejected as a 400 by GlobalExceptionHandler
+        TodoExportFormat exportFormat = TodoExportFormat.fromParameter(format);
+        // Resolved here: the body is written on an async thread without the security context
+        Long userId = authService.getCurrentUserId();
+        StreamingResponseBody body = out -> todoExportService.exportTodos(userId, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"todos." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Form-encoded bodies are excluded: the container would consume them as request parameters
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv", "text/plain",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> importTodos(@RequestParam(defaultValue = "ndjson") String format,
+                                                             HttpServletRequest request) {
+        TodoExportFormat importFormat = TodoExportFormat.fromParameter(format);
+        Long userId = authService.getCurrentUserId();
+        // Progress lines are written while the upload is still being read
+        StreamingResponseBody body = out -> todoImportService.importTodos(userId, importFormat,
+                request.getInputStream(), out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"))
+                .body(body);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@Valid @RequestBody TodoBatchRequest batchRequest) {
+        try {
+            Long userId = authService.getCurrentUserId();
+            TodoBatchResponse response = todoService.applyBatch(batchRequest, userId);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -83,7 +169,7 @@ public class TodoController {
         try {
             Long userId = authService.getCurrentUserId();
             Todo todo = todoService.updateTodo(id, todoRequest, userId);
-            return ResponseEntity.ok(todo);
+            return ResponseEntity.ok(todoMapper.toResponse(todo));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -96,7 +182,7 @@ public class TodoController {
         try {
             Long userId = authService.getCurrentUserId();
             Todo todo = todoService.toggleTodo(id, userId);
-            return ResponseEntity.ok(todo);
+            return ResponseEntity.ok(todoMapper.toResponse(todo));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -120,11 +206,25 @@ public class TodoController {
         }
     }
 
+    @GetMapping("/agenda")
+    public ResponseEntity<?> getAgenda(@RequestParam(required = false) String tz,
+                                       @RequestParam(required = false) Integer days) {
+        try {
+            Long userId = authService.getCurrentUserId();
+            TodoAgenda agenda = todoService.getAgenda(userId, resolveZone(tz), days);
+            return ResponseEntity.ok(agenda);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @GetMapping("/due-today")
-    public ResponseEntity<List<Todo>> getTodosDueToday() {
+    public ResponseEntity<List<TodoResponse>> getTodosDueToday(@RequestParam(required = false) String tz) {
         try {
             Long userId = authService.getCurrentUserId();
-            List<Todo> todos = todoService.getTodosDueToday(userId);
+            List<TodoResponse> todos = todoService.getTodosDueToday(userId, resolveZone(tz));
             return ResponseEntity.ok(todos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -132,10 +232,10 @@ public class TodoController {
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<List<Todo>> getOverdueTodos() {
+    public ResponseEntity<List<TodoResponse>> getOverdueTodos(@RequestParam(required = false) String tz) {
         try {
             Long userId = authService.getCurrentUserId();
-            List<Todo> todos = todoService.getOverdueTodos(userId);
+            List<TodoResponse> todos = todoService.getOverdueTodos(userId, resolveZone(tz));
             return ResponseEntity.ok(todos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -143,15 +243,10 @@ public class TodoController {
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<?> getTodoStats() {
+    public ResponseEntity<?> getTodoStats(@RequestParam(required = false) String tz) {
         try {
             Long userId = authService.getCurrentUserId();
-            
-            Map<String, Long> stats = new HashMap<>();
-            stats.put("total", todoService.getTotalTodos(userId));
-            stats.put("completed", todoService.getCompletedTodos(userId));
-            stats.put("pending", todoService.getPendingTodos(userId));
-            
+            TodoStats stats = todoStatsService.getStats(userId, resolveZone(tz));
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -159,4 +254,16 @@ public class TodoController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    // IANA zone of the caller (e.g. Europe/Berlin); due dates are wall-clock times in it
+    private static ZoneId resolveZone(String tz) {
+        if (tz == null || tz.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(tz.trim());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + tz);
+        }
+    }
 }
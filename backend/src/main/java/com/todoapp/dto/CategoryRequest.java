@@ -9,6 +9,9 @@ public class CategoryRequest {
     @Size(min = 1, max = 100, message = "Category name must be between 1 and 100 characters")
     private String name;
 
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    private String description;
+
     @Size(max = 7, message = "Color must be a valid hex color")
     private String color = "#1976d2";
 
@@ -29,6 +32,14 @@ public class CategoryRequest {
         this.name = name;
     }
 
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
     public String getColor() {
         return color;
     }
@@ -22,6 +22,14 @@ public class CategoryResponse {
     // Constructors
     public CategoryResponse() {}
 
+    // Summary embedded in other responses
+    public CategoryResponse(Long id, String name, String color) {
+        this.id = id;
+        this.name = name;
+        this.color = color;
+    }
+
+    // Used by JPQL constructor projections
     public CategoryResponse(Long id, String name, String description, String color, 
                            LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
@@ -32,6 +40,13 @@ public class CategoryResponse {
         this.updatedAt = updatedAt;
     }
 
+    // Used by the grouped projections that count each category's todos
+    public CategoryResponse(Long id, String name, String description, String color,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, Long todoCount) {
+        this(id, name, description, color, createdAt, updatedAt);
+        this.todoCount = todoCount;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -21,6 +21,14 @@ public class JwtResponse {
         this.lastName = user.getLastName();
     }
 
+    // Built from the authenticated principal, which carries no profile names
+    public JwtResponse(String accessToken, Long id, String username, String email) {
+        this.token = accessToken;
+        this.id = id;
+        this.username = username;
+        this.email = email;
+    }
+
     // Getters and Setters
     public String getToken() {
         return token;
@@ -0,0 +1,78 @@
+package com.todoapp.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pending todos with a due date, split into three buckets relative to the
+ * user's current wall-clock time: already due, due later today, and due
+ * within the next {@code upcomingDays} days. Each bucket is ordered by due date.
+ */
+public class TodoAgenda {
+
+    private LocalDate date;
+    private String timeZone;
+    private int upcomingDays;
+    private List<TodoResponse> overdue = new ArrayList<>();
+    private List<TodoResponse> today = new ArrayList<>();
+    private List<TodoResponse> upcoming = new ArrayList<>();
+
+    // Constructors
+    public TodoAgenda() {}
+
+    public TodoAgenda(LocalDate date, String timeZone, int upcomingDays) {
+        this.date = date;
+        this.timeZone = timeZone;
+        this.upcomingDays = upcomingDays;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public int getUpcomingDays() {
+        return upcomingDays;
+    }
+
+    public void setUpcomingDays(int upcomingDays) {
+        this.upcomingDays = upcomingDays;
+    }
+
+    public List<TodoResponse> getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(List<TodoResponse> overdue) {
+        this.overdue = overdue;
+    }
+
+    public List<TodoResponse> getToday() {
+        return today;
+    }
+
+    public void setToday(List<TodoResponse> today) {
+        this.today = today;
+    }
+
+    public List<TodoResponse> getUpcoming() {
+        return upcoming;
+    }
+
+    public void setUpcoming(List<TodoResponse> upcoming) {
+        this.upcoming = upcoming;
+    }
+}
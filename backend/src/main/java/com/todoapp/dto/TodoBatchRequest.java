@@ -0,0 +1,63 @@
+package com.todoapp.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several todo mutations applied in one transaction. Operations run in the
+ * order create, update, toggle, delete.
+ */
+public class TodoBatchRequest {
+
+    @Valid
+    private List<TodoRequest> create = new ArrayList<>();
+
+    @Valid
+    private List<TodoBatchUpdate> update = new ArrayList<>();
+
+    private List<Long> toggle = new ArrayList<>();
+
+    private List<Long> delete = new ArrayList<>();
+
+    // Constructors
+    public TodoBatchRequest() {}
+
+    // Getters and Setters
+    public List<TodoRequest> getCreate() {
+        return create;
+    }
+
+    public void setCreate(List<TodoRequest> create) {
+        this.create = create != null ? create : new ArrayList<>();
+    }
+
+    public List<TodoBatchUpdate> getUpdate() {
+        return update;
+    }
+
+    public void setUpdate(List<TodoBatchUpdate> update) {
+        this.update = update != null ? update : new ArrayList<>();
+    }
+
+    public List<Long> getToggle() {
+        return toggle;
+    }
+
+    public void setToggle(List<Long> toggle) {
+        this.toggle = toggle != null ? toggle : new ArrayList<>();
+    }
+
+    public List<Long> getDelete() {
+        return delete;
+    }
+
+    public void setDelete(List<Long> delete) {
+        this.delete = delete != null ? delete : new ArrayList<>();
+    }
+
+    public int size() {
+        return create.size() + update.size() + toggle.size() + delete.size();
+    }
+}
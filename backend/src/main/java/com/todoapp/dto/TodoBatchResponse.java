@@ -0,0 +1,48 @@
+package com.todoapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TodoBatchResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<TodoBatchResult> results = new ArrayList<>();
+
+    // Constructors
+    public TodoBatchResponse() {}
+
+    public void add(TodoBatchResult result) {
+        results.add(result);
+        if (result.getStatus() == TodoBatchResult.Status.OK) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    // Getters and Setters
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<TodoBatchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TodoBatchResult> results) {
+        this.results = results;
+    }
+}
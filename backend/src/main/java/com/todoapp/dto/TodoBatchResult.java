@@ -0,0 +1,115 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request. {@code index} is the item's
+ * position in its operation list.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoBatchResult {
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        TOGGLE,
+        DELETE
+    }
+
+    public enum Status {
+        OK,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private Operation operation;
+    private int index;
+    private Long id;
+    private Status status;
+    private String error;
+    private Boolean completed;
+    private TodoResponse todo;
+
+    // Constructors
+    public TodoBatchResult() {}
+
+    public TodoBatchResult(Operation operation, int index, Long id, Status status) {
+        this.operation = operation;
+        this.index = index;
+        this.id = id;
+        this.status = status;
+    }
+
+    public static TodoBatchResult ok(Operation operation, int index, Long id) {
+        return new TodoBatchResult(operation, index, id, Status.OK);
+    }
+
+    public static TodoBatchResult notFound(Operation operation, int index, Long id) {
+        TodoBatchResult result = new TodoBatchResult(operation, index, id, Status.NOT_FOUND);
+        result.setError("Todo not found");
+        return result;
+    }
+
+    public static TodoBatchResult failed(Operation operation, int index, Long id, String error) {
+        TodoBatchResult result = new TodoBatchResult(operation, index, id, Status.FAILED);
+        result.setError(error);
+        return result;
+    }
+
+    // Getters and Setters
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public TodoResponse getTodo() {
+        return todo;
+    }
+
+    public void setTodo(TodoResponse todo) {
+        this.todo = todo;
+    }
+}
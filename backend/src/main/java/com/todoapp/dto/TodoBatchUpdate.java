@@ -0,0 +1,24 @@
+package com.todoapp.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Full replacement of one todo's editable fields inside a batch request.
+ */
+public class TodoBatchUpdate extends TodoRequest {
+
+    @NotNull(message = "Todo id is required")
+    private Long id;
+
+    // Constructors
+    public TodoBatchUpdate() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
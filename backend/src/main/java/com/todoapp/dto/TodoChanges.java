@@ -0,0 +1,112 @@
+package com.todoapp.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Todos created or updated and ids deleted since a sync token. When
+ * {@code reset} is set the client has to reload its full list, then keep
+ * polling with the returned token.
+ */
+public class TodoChanges {
+
+    private List<TodoResponse> items = new ArrayList<>();
+    private List<Long> deletedIds = new ArrayList<>();
+    private String token;
+    private boolean reset;
+
+    // Constructors
+    public TodoChanges() {}
+
+    public TodoChanges(List<TodoResponse> items, List<Long> deletedIds, String token) {
+        this.items = items;
+        this.deletedIds = deletedIds;
+        this.token = token;
+    }
+
+    public static TodoChanges reset(String token) {
+        TodoChanges changes = new TodoChanges();
+        changes.setToken(token);
+        changes.setReset(true);
+        return changes;
+    }
+
+    public static String encodeToken(Long horizon, LocalDateTime issuedAt) {
+        String value = (horizon != null ? horizon + "@" : "") + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token made by {@link #encodeToken}. Tokens issued before
+     * commit-order sync hold only a time and decode with a null horizon.
+     */
+    public static SyncToken decodeToken(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int at = value.indexOf('@');
+            Long horizon = at < 0 ? null : Long.valueOf(value.substring(0, at));
+            return new SyncToken(horizon, LocalDateTime.parse(value.substring(at + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    /**
+     * Decoded sync token: the commit-order horizon (null for time-based
+     * tokens) and the time the token was issued.
+     */
+    public static class SyncToken {
+        private final Long horizon;
+        private final LocalDateTime issuedAt;
+
+        public SyncToken(Long horizon, LocalDateTime issuedAt) {
+            this.horizon = horizon;
+            this.issuedAt = issuedAt;
+        }
+
+        public Long getHorizon() {
+            return horizon;
+        }
+
+        public LocalDateTime getIssuedAt() {
+            return issuedAt;
+        }
+    }
+
+    // Getters and Setters
+    public List<TodoResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TodoResponse> items) {
+        this.items = items;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+}
@@ -0,0 +1,85 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the NDJSON progress stream returned by the import endpoint:
+ * a rejected row, a progress update after each saved batch, or the final
+ * summary.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoImportReport {
+
+    public enum Type {
+        ERROR,
+        PROGRESS,
+        DONE,
+        ABORTED
+    }
+
+    private Type type;
+    private Long line;
+    private String error;
+    private long processed;
+    private long imported;
+    private long failed;
+
+    // Constructors
+    public TodoImportReport() {}
+
+    public TodoImportReport(Type type, long processed, long imported, long failed) {
+        this.type = type;
+        this.processed = processed;
+        this.imported = imported;
+        this.failed = failed;
+    }
+
+    // Getters and Setters
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getLine() {
+        return line;
+    }
+
+    public void setLine(Long line) {
+        this.line = line;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+}
@@ -15,6 +15,9 @@ public class TodoResponse {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime dueDate;
     
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime completedAt;
+    
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
     
@@ -40,6 +43,18 @@ public class TodoResponse {
         this.updatedAt = updatedAt;
     }
 
+    // Used by JPQL constructor projections; the category is flattened into the select list
+    public TodoResponse(Long id, String title, String description, Boolean completed,
+                       Priority priority, LocalDateTime dueDate, LocalDateTime completedAt,
+                       LocalDateTime createdAt, LocalDateTime updatedAt,
+                       Long categoryId, String categoryName, String categoryColor) {
+        this(id, title, description, completed, priority, dueDate, createdAt, updatedAt);
+        this.completedAt = completedAt;
+        if (categoryId != null) {
+            this.category = new CategoryResponse(categoryId, categoryName, categoryColor);
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -89,6 +104,14 @@ public class TodoResponse {
         this.dueDate = dueDate;
     }
 
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,103 @@
+package com.todoapp.dto;
+
+import com.todoapp.model.Priority;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dashboard counters for one user. Overdue and due-today only count todos
+ * that are still pending.
+ */
+public class TodoStats {
+
+    private long total;
+    private long completed;
+    private long pending;
+    private long overdue;
+    private long dueToday;
+    private long uncategorized;
+    private Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+    private Map<Long, Long> byCategory = new HashMap<>();
+
+    // Constructors
+    public TodoStats() {}
+
+    public TodoStats(TodoStats other) {
+        this.total = other.total;
+        this.completed = other.completed;
+        this.pending = other.pending;
+        this.overdue = other.overdue;
+        this.dueToday = other.dueToday;
+        this.uncategorized = other.uncategorized;
+        this.byPriority = new EnumMap<>(Priority.class);
+        this.byPriority.putAll(other.byPriority);
+        this.byCategory = new HashMap<>(other.byCategory);
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public void setPending(long pending) {
+        this.pending = pending;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public long getDueToday() {
+        return dueToday;
+    }
+
+    public void setDueToday(long dueToday) {
+        this.dueToday = dueToday;
+    }
+
+    public long getUncategorized() {
+        return uncategorized;
+    }
+
+    public void setUncategorized(long uncategorized) {
+        this.uncategorized = uncategorized;
+    }
+
+    public Map<Priority, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<Priority, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public Map<Long, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(Map<Long, Long> byCategory) {
+        this.byCategory = byCategory;
+    }
+}
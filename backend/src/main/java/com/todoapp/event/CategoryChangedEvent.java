@@ -0,0 +1,35 @@
+package com.todoapp.event;
+
+/**
+ * Published by {@code CategoryService} inside the writing transaction.
+ */
+public class CategoryChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final Long categoryId;
+
+    public CategoryChangedEvent(Type type, Long userId, Long categoryId) {
+        this.type = type;
+        this.userId = userId;
+        this.categoryId = categoryId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+}
@@ -0,0 +1,80 @@
+package com.todoapp.event;
+
+/**
+ * Published by {@code TodoService} inside the writing transaction. Listeners
+ * that maintain derived state should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * <p>{@code before} is {@code null} for creations and {@code after} is
+ * {@code null} for deletions. Either may also be {@code null} when the writer
+ * did not load the row; listeners must then fall back to invalidation.</p>
+ *
+ * <p>{@code publishedNanos} is taken when the event is created, before the
+ * transaction commits, so derived state computed from a query that finished
+ * earlier cannot include this change.</p>
+ */
+public class TodoChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        TOGGLED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final Long todoId;
+    private final TodoSnapshot before;
+    private final TodoSnapshot after;
+    private final long publishedNanos;
+
+    public TodoChangedEvent(Type type, Long userId, Long todoId, TodoSnapshot before, TodoSnapshot after) {
+        this.type = type;
+        this.userId = userId;
+        this.todoId = todoId;
+        this.before = before;
+        this.after = after;
+        this.publishedNanos = System.nanoTime();
+    }
+
+    public static TodoChangedEvent created(TodoSnapshot after) {
+        return new TodoChangedEvent(Type.CREATED, after.getUserId(), after.getId(), null, after);
+    }
+
+    public static TodoChangedEvent updated(TodoSnapshot before, TodoSnapshot after) {
+        return new TodoChangedEvent(Type.UPDATED, after.getUserId(), after.getId(), before, after);
+    }
+
+    public static TodoChangedEvent toggled(TodoSnapshot before, TodoSnapshot after) {
+        return new TodoChangedEvent(Type.TOGGLED, after.getUserId(), after.getId(), before, after);
+    }
+
+    public static TodoChangedEvent deleted(TodoSnapshot before) {
+        return new TodoChangedEvent(Type.DELETED, before.getUserId(), before.getId(), before, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public TodoSnapshot getBefore() {
+        return before;
+    }
+
+    public TodoSnapshot getAfter() {
+        return after;
+    }
+
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+}
@@ -0,0 +1,120 @@
+package com.todoapp.event;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Todo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Detached copy of a todo's state at the time of a change, safe to hand to
+ * listeners that run after the persistence context is gone.
+ */
+public class TodoSnapshot {
+
+    private final Long id;
+    private final Long userId;
+    private final String title;
+    private final String description;
+    private final boolean completed;
+    private final Priority priority;
+    private final Long categoryId;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime completedAt;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    // Also used as a JPQL constructor projection, hence the boxed completed flag
+    public TodoSnapshot(Long id, Long userId, String title, String description, Boolean completed,
+                        Priority priority, Long categoryId, LocalDateTime dueDate,
+                        LocalDateTime completedAt, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+        this.completed = Boolean.TRUE.equals(completed);
+        this.priority = priority;
+        this.categoryId = categoryId;
+        this.dueDate = dueDate;
+        this.completedAt = completedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static TodoSnapshot of(Todo todo) {
+        // getId() on a lazy association does not initialize the proxy
+        return new TodoSnapshot(
+                todo.getId(),
+                todo.getUser() != null ? todo.getUser().getId() : null,
+                todo.getTitle(),
+                todo.getDescription(),
+                todo.getCompleted(),
+                todo.getPriority(),
+                todo.getCategory() != null ? todo.getCategory().getId() : null,
+                todo.getDueDate(),
+                todo.getCompletedAt(),
+                todo.getCreatedAt(),
+                todo.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Copy with the completion state flipped the way a bulk toggle does it.
+     */
+    public TodoSnapshot toggled(LocalDateTime now) {
+        return new TodoSnapshot(id, userId, title, description, !completed, priority, categoryId,
+                dueDate, completed ? null : now, createdAt, now);
+    }
+
+    /**
+     * State before the toggle that produced this snapshot. Only the completion
+     * flag can be restored; the previous timestamps are not known.
+     */
+    public TodoSnapshot beforeToggle() {
+        return new TodoSnapshot(id, userId, title, description, !completed, priority, categoryId,
+                dueDate, null, createdAt, null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.todoapp.export;
+
+import com.todoapp.dto.TodoResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 4180 CSV with a header row. Dates use the same pattern as the JSON API.
+ */
+class CsvTodoExportWriter implements TodoExportWriter {
+
+    static final String[] COLUMNS = {
+            "id", "title", "description", "completed", "priority", "dueDate",
+            "completedAt", "createdAt", "updatedAt", "categoryId", "categoryName"
+    };
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer out;
+
+    CsvTodoExportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        out.write(String.join(",", COLUMNS));
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(TodoResponse todo) throws IOException {
+        boolean hasCategory = todo.getCategory() != null;
+        writeRow(
+                String.valueOf(todo.getId()),
+                todo.getTitle(),
+                todo.getDescription(),
+                String.valueOf(Boolean.TRUE.equals(todo.getCompleted())),
+                todo.getPriority() != null ? todo.getPriority().name() : null,
+                format(todo.getDueDate()),
+                format(todo.getCompletedAt()),
+                format(todo.getCreatedAt()),
+                format(todo.getUpdatedAt()),
+                hasCategory ? String.valueOf(todo.getCategory().getId()) : null,
+                hasCategory ? todo.getCategory().getName() : null
+        );
+    }
+
+    private void writeRow(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeCell(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        // Keep spreadsheet apps from evaluating user text as a formula
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? DATE_FORMAT.format(value) : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.todoapp.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * One JSON object per line, in the same shape as the todo API responses.
+ */
+class NdjsonTodoExportWriter implements TodoExportWriter {
+
+    private final Writer out;
+    private final ObjectMapper objectMapper;
+
+    NdjsonTodoExportWriter(Writer out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON has no header
+    }
+
+    @Override
+    public void write(TodoResponse todo) throws IOException {
+        out.write(objectMapper.writeValueAsString(todo));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,43 @@
+package com.todoapp.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Writer;
+import java.util.Locale;
+
+public enum TodoExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TodoExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static TodoExportFormat fromParameter(String format) {
+        if (format != null) {
+            for (TodoExportFormat candidate : values()) {
+                if (candidate.extension.equals(format.toLowerCase(Locale.ROOT))) {
+                    return candidate;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+
+    public TodoExportWriter newWriter(Writer out, ObjectMapper objectMapper) {
+        return this == CSV ? new CsvTodoExportWriter(out) : new NdjsonTodoExportWriter(out, objectMapper);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,15 @@
+package com.todoapp.export;
+
+import com.todoapp.dto.TodoResponse;
+
+import java.io.IOException;
+
+/**
+ * Writes exported todos one row at a time; nothing is kept between rows.
+ */
+public interface TodoExportWriter {
+
+    void writeHeader() throws IOException;
+
+    void write(TodoResponse todo) throws IOException;
+}
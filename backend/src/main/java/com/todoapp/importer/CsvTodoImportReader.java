@@ -0,0 +1,130 @@
+package com.todoapp.importer;
+
+import com.todoapp.dto.TodoRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns. Quoted cells may span
+ * lines; unknown columns (ids, timestamps of the export) are ignored.
+ */
+class CsvTodoImportReader implements TodoImportReader {
+
+    private final BufferedReader in;
+    private Map<String, Integer> columns;
+    private long line;
+    private long recordLine;
+
+    CsvTodoImportReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public TodoImportRow next() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("title")) {
+                throw new IllegalArgumentException("CSV header must contain a title column");
+            }
+        }
+
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        try {
+            TodoRequest request = new TodoRequest();
+            request.setTitle(cell(record, "title"));
+            request.setDescription(cell(record, "description"));
+            request.setPriority(ImportValues.priority(cell(record, "priority")));
+            request.setDueDate(ImportValues.dateTime(cell(record, "duedate")));
+            return TodoImportRow.of(recordLine, request,
+                    ImportValues.bool(cell(record, "completed")),
+                    ImportValues.dateTime(cell(record, "completedat")),
+                    ImportValues.text(cell(record, "categoryname")));
+        } catch (IllegalArgumentException e) {
+            return TodoImportRow.invalid(recordLine, e.getMessage());
+        }
+    }
+
+    private String cell(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        // Undo the formula guard added by the export
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            value = value.substring(1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        line++;
+        recordLine = line;
+
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c < 0) {
+                if (quoted) {
+                    throw new IllegalArgumentException("Unterminated quoted cell starting on line " + recordLine);
+                }
+                break;
+            }
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    in.mark(1);
+                    int peek = in.read();
+                    if (peek == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else {
+                    if (ch == '\n') {
+                        line++;
+                    }
+                    cell.append(ch);
+                }
+            } else if (ch == '"' && cell.length() == 0) {
+                quoted = true;
+            } else if (ch == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                cell.append(ch);
+            }
+            c = in.read();
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
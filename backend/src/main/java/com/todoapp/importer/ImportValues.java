@@ -0,0 +1,77 @@
+package com.todoapp.importer;
+
+import com.todoapp.model.Priority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Lenient conversions shared by the NDJSON and CSV readers. Accepts what
+ * the export writes as well as ISO-8601 values from other tools.
+ */
+final class ImportValues {
+
+    private static final DateTimeFormatter EXPORT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private ImportValues() {}
+
+    static String text(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    static Priority priority(String value) {
+        String text = text(value);
+        if (text == null) {
+            return Priority.MEDIUM;
+        }
+        try {
+            return Priority.valueOf(text.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid priority: " + text);
+        }
+    }
+
+    static boolean bool(String value) {
+        String text = text(value);
+        if (text == null) {
+            return false;
+        }
+        switch (text.toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "1":
+            case "yes":
+                return true;
+            case "false":
+            case "0":
+            case "no":
+                return false;
+            default:
+                throw new IllegalArgumentException("Invalid boolean: " + text);
+        }
+    }
+
+    static LocalDateTime dateTime(String value) {
+        String text = text(value);
+        if (text == null) {
+            return null;
+        }
+        try {
+            if (text.length() == 10) {
+                return LocalDate.parse(text).atStartOfDay();
+            }
+            if (text.charAt(10) == 'T') {
+                return LocalDateTime.parse(text);
+            }
+            return LocalDateTime.parse(text, EXPORT_FORMAT);
+        } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid date: " + text);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.todoapp.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line. Reads the export format (category as a nested
+ * object) as well as a flat {@code categoryName} field.
+ */
+class NdjsonTodoImportReader implements TodoImportReader {
+
+    private final BufferedReader in;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonTodoImportReader(BufferedReader in, ObjectMapper objectMapper) {
+        this.in = in;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public TodoImportRow next() throws IOException {
+        String json;
+        do {
+            json = in.readLine();
+            if (json == null) {
+                return null;
+            }
+            line++;
+        } while (json.isBlank());
+
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (!node.isObject()) {
+                return TodoImportRow.invalid(line, "Expected a JSON object");
+            }
+
+            TodoRequest request = new TodoRequest();
+            request.setTitle(field(node, "title"));
+            request.setDescription(field(node, "description"));
+            request.setPriority(ImportValues.priority(field(node, "priority")));
+            request.setDueDate(ImportValues.dateTime(field(node, "dueDate")));
+
+            String categoryName = field(node, "categoryName");
+            if (categoryName == null && node.path("category").isObject()) {
+                categoryName = field(node.get("category"), "name");
+            }
+            return TodoImportRow.of(line, request,
+                    ImportValues.bool(field(node, "completed")),
+                    ImportValues.dateTime(field(node, "completedAt")),
+                    ImportValues.text(categoryName));
+        } catch (JsonProcessingException e) {
+            return TodoImportRow.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return TodoImportRow.invalid(line, e.getMessage());
+        }
+    }
+
+    private static String field(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,23 @@
+package com.todoapp.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.export.TodoExportFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Pulls rows from an upload one at a time, so only the current row is held
+ * in memory and the client is throttled by how fast rows are persisted.
+ */
+public interface TodoImportReader {
+
+    /**
+     * Returns the next row, or {@code null} at the end of the input.
+     */
+    TodoImportRow next() throws IOException;
+
+    static TodoImportReader open(TodoExportFormat format, BufferedReader in, ObjectMapper objectMapper) {
+        return format == TodoExportFormat.CSV ? new CsvTodoImportReader(in) : new NdjsonTodoImportReader(in, objectMapper);
+    }
+}
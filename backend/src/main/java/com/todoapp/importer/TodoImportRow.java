@@ -0,0 +1,66 @@
+package com.todoapp.importer;
+
+import com.todoapp.dto.TodoRequest;
+
+import java.time.LocalDateTime;
+
+/**
+ * One parsed input row. Rows that could not be parsed carry an error
+ * instead of a request.
+ */
+public class TodoImportRow {
+
+    private final long line;
+    private final TodoRequest request;
+    private final boolean completed;
+    private final LocalDateTime completedAt;
+    private final String categoryName;
+    private final String error;
+
+    private TodoImportRow(long line, TodoRequest request, boolean completed, LocalDateTime completedAt,
+                          String categoryName, String error) {
+        this.line = line;
+        this.request = request;
+        this.completed = completed;
+        this.completedAt = completedAt;
+        this.categoryName = categoryName;
+        this.error = error;
+    }
+
+    public static TodoImportRow of(long line, TodoRequest request, boolean completed,
+                                   LocalDateTime completedAt, String categoryName) {
+        return new TodoImportRow(line, request, completed, completedAt, categoryName, null);
+    }
+
+    public static TodoImportRow invalid(long line, String error) {
+        return new TodoImportRow(line, null, false, null, null, error);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public TodoRequest getRequest() {
+        return request;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.todoapp.mapper;
+
+import com.todoapp.dto.CategoryResponse;
+import com.todoapp.model.Category;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryMapper {
+
+    public CategoryResponse toResponse(Category category) {
+        return new CategoryResponse(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                category.getColor(),
+                category.getCreatedAt(),
+                category.getUpdatedAt()
+        );
+    }
+
+    public CategoryResponse toSummary(Category category) {
+        return new CategoryResponse(category.getId(), category.getName(), category.getColor());
+    }
+}
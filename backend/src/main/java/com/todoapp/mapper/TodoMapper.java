@@ -0,0 +1,35 @@
+package com.todoapp.mapper;
+
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.model.Todo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps single entities returned by write operations. Listings are read
+ * straight into {@link TodoResponse} by repository projections instead.
+ */
+@Component
+public class TodoMapper {
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    public TodoResponse toResponse(Todo todo) {
+        TodoResponse response = new TodoResponse(
+                todo.getId(),
+                todo.getTitle(),
+                todo.getDescription(),
+                todo.getCompleted(),
+                todo.getPriority(),
+                todo.getDueDate(),
+                todo.getCreatedAt(),
+                todo.getUpdatedAt()
+        );
+        response.setCompletedAt(todo.getCompletedAt());
+        if (todo.getCategory() != null) {
+            response.setCategory(categoryMapper.toSummary(todo.getCategory()));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,79 @@
+package com.todoapp.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes Hibernate's second-level cache statistics per region
+ * as {@code hibernate.cache.requests} (hit/miss), {@code hibernate.cache.puts}
+ * and {@code hibernate.cache.hit.ratio}.
+ *
+ * <p>Only registered when {@code hibernate.generate_statistics} is on, as
+ * every counter would otherwise stay at zero.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class SecondLevelCacheMetrics {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void registerMetrics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            if (statistics.getCacheRegionStatistics(region) == null) {
+                continue;
+            }
+            requests(statistics, region, "hit", CacheRegionStatistics::getHitCount);
+            requests(statistics, region, "miss", CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.cache.puts", statistics,
+                            s -> count(s, region, CacheRegionStatistics::getPutCount))
+                    .tag("region", region)
+                    .description("Entries written to a second-level cache region")
+                    .register(meterRegistry);
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups served from the region")
+                    .register(meterRegistry);
+        }
+    }
+
+    private void requests(Statistics statistics, String region, String result,
+                          ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.cache.requests", statistics, s -> count(s, region, count))
+                .tag("region", region)
+                .tag("result", result)
+                .description("Second-level cache lookups")
+                .register(meterRegistry);
+    }
+
+    private static double count(Statistics statistics, String region, ToLongFunction<CacheRegionStatistics> count) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? count.applyAsLong(regionStatistics) : 0;
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long hits = regionStatistics.getHitCount();
+        long lookups = hits + regionStatistics.getMissCount();
+        return lookups > 0 ? (double) hits / lookups : Double.NaN;
+    }
+}
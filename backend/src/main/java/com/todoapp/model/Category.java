@@ -1,6 +1,8 @@
 package com.todoapp.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -9,10 +11,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 public class Category extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Category name is required")
@@ -20,6 +25,9 @@ public class Category extends BaseEntity {
     @Column(nullable = false)
     private String name;
 
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    private String description;
+
     @Size(max = 7, message = "Color must be a valid hex color")
     @Column(nullable = false)
     private String color = "#1976d2";
@@ -28,7 +36,9 @@ public class Category extends BaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
+    // No cascade: categories in use cannot be deleted, and cascading remove()
+    // would load every todo of the category just to find none
+    @OneToMany(mappedBy = "category")
     private List<Todo> todos = new ArrayList<>();
 
     // Constructors
@@ -57,6 +67,14 @@ public class Category extends BaseEntity {
         this.name = name;
     }
 
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
     public String getColor() {
         return color;
     }
@@ -7,11 +7,20 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos",
+       indexes = {
+           @Index(name = "idx_todos_user_updated", columnList = "user_id, updated_at"),
+           @Index(name = "idx_todos_user_change", columnList = "user_id, change_xid, id")
+       })
+@NamedEntityGraph(name = Todo.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 public class Todo extends BaseEntity {
 
+    // Fetch plan for todos returned with their category summary (a to-one join, one row per todo)
+    public static final String WITH_CATEGORY = "Todo.withCategory";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Todo title is required")
@@ -44,6 +53,10 @@ public class Todo extends BaseEntity {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Id of the last writing transaction, set by a database trigger (V4 migration)
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
     // Constructors
     public Todo() {}
 
@@ -127,6 +140,10 @@ public class Todo extends BaseEntity {
         return completedAt;
     }
 
+    public Long getChangeXid() {
+        return changeXid;
+    }
+
     public void setCompletedAt(LocalDateTime completedAt) {
         this.completedAt = completedAt;
     }
@@ -0,0 +1,83 @@
+package com.todoapp.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted todo, kept so that clients syncing through
+ * {@code /api/todos/changes} learn about deletions. Pruned after
+ * {@code todos.changes.tombstone-retention-days}.
+ */
+@Entity
+@Table(name = "todo_tombstones",
+       indexes = {
+           @Index(name = "idx_todo_tombstones_user_deleted", columnList = "user_id, deleted_at"),
+           @Index(name = "idx_todo_tombstones_user_change", columnList = "user_id, change_xid, id")
+       })
+public class TodoTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_tombstones_seq")
+    @SequenceGenerator(name = "todo_tombstones_seq", sequenceName = "todo_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Id of the deleting transaction, set by a database trigger (V4 migration)
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
+    // Constructors
+    public TodoTombstone() {}
+
+    public TodoTombstone(Long todoId, Long userId, LocalDateTime deletedAt) {
+        this.todoId = todoId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public void setTodoId(Long todoId) {
+        this.todoId = todoId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getChangeXid() {
+        return changeXid;
+    }
+}
@@ -0,0 +1,210 @@
+package com.todoapp.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.security.JwtTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the routes listed under {@code rate-limit.routes} with per-address
+ * and per-username token buckets. Runs ahead of the security chain, so a
+ * throttled sign-in never reaches password verification.
+ *
+ * <p>The username comes from the verified bearer token when there is one
+ * (through {@link JwtTokenCache}, which the authentication filter reuses), or
+ * else from the {@code username} field of a JSON body such as the sign-in
+ * request. Such a body is read up front, at most {@code MAX_BUFFERED_BODY}
+ * bytes whatever length is declared; a larger one is refused with 413 so it
+ * cannot dodge the username limit. The client address is {@code getRemoteAddr()}; behind a
+ * proxy, set {@code server.forward-headers-strategy} so it is the real one.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Largest JSON body read to find the username; sign-in bodies are far smaller
+    private static final int MAX_BUFFERED_BODY = 16 * 1024;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private JwtTokenCache jwtTokenCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // Route name to rule, in configuration order; the first match applies
+    private Map<String, RateLimitRule> rules = Collections.emptyMap();
+    private final Map<String, Counter> rejections = new HashMap<>();
+
+    @PostConstruct
+    void loadRules() {
+        rules = new LinkedHashMap<>(Binder.get(environment)
+                .bind("rate-limit.routes", Bindable.mapOf(String.class, RateLimitRule.class))
+                .orElse(Collections.emptyMap()));
+        for (String route : rules.keySet()) {
+            rejections.put(route + "|ip", rejectedCounter(route, "ip"));
+            rejections.put(route + "|username", rejectedCounter(route, "username"));
+        }
+    }
+
+    private Counter rejectedCounter(String route, String key) {
+        return Counter.builder("rate.limit.rejected").tag("route", route).tag("key", key)
+                .description("Requests refused with 429 by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String route = findRoute(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitRule rule = rules.get(route);
+        HttpServletRequest current = request;
+
+        if (rule.getPerIp() != null) {
+            long waitNanos = rateLimiter.tryAcquire(route + "|ip|" + request.getRemoteAddr(), rule.getPerIp());
+            if (waitNanos > 0) {
+                reject(response, route, "ip", waitNanos);
+                return;
+            }
+        }
+
+        if (rule.getPerUsername() != null) {
+            String username = usernameFromToken(request);
+            if (username == null && isJsonBody(request)) {
+                byte[] body = readBoundedBody(request);
+                if (body == null) {
+                    writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large");
+                    return;
+                }
+                CachedBodyRequest buffered = new CachedBodyRequest(request, body);
+                username = usernameFromBody(buffered.getBody());
+                current = buffered;
+            }
+            if (username != null) {
+                String key = route + "|username|" + username.toLowerCase(Locale.ROOT);
+                long waitNanos = rateLimiter.tryAcquire(key, rule.getPerUsername());
+                if (waitNanos > 0) {
+                    reject(response, route, "username", waitNanos);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(current, response);
+    }
+
+    private String findRoute(HttpServletRequest request) {
+        String path = request.getServletPath() + (request.getPathInfo() != null ? request.getPathInfo() : "");
+        for (Map.Entry<String, RateLimitRule> entry : rules.entrySet()) {
+            RateLimitRule rule = entry.getValue();
+            boolean methodMatches = rule.getMethods().isEmpty() || rule.getMethods().contains(request.getMethod());
+            if (methodMatches && rule.getPath() != null && pathMatcher.match(rule.getPath(), path)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private String usernameFromToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        Claims claims = jwtTokenCache.getVerifiedClaims(header.substring(7));
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    private static boolean isJsonBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    // Null when the body is larger than MAX_BUFFERED_BODY, declared or chunked
+    private static byte[] readBoundedBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > MAX_BUFFERED_BODY) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BUFFERED_BODY + 1);
+        return body.length > MAX_BUFFERED_BODY ? null : body;
+    }
+
+    private String usernameFromBody(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() && StringUtils.hasText(username.asText()) ? username.asText() : null;
+        } catch (IOException e) {
+            // Malformed JSON is rejected by the controller; only the address limit applies
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String route, String key, long waitNanos) throws IOException {
+        rejections.get(route + "|" + key).increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please retry later");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,81 @@
+package com.todoapp.ratelimit;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code rate-limit.routes.<name>} entry: the requests it applies to and
+ * the bucket sizes per client address and per username. A missing limit
+ * means that key is not throttled on this route.
+ */
+public class RateLimitRule {
+
+    private String path;
+    private Set<String> methods = new LinkedHashSet<>();
+    private Limit perIp;
+    private Limit perUsername;
+
+    // Getters and Setters
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Set<String> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(Set<String> methods) {
+        this.methods = methods;
+    }
+
+    public Limit getPerIp() {
+        return perIp;
+    }
+
+    public void setPerIp(Limit perIp) {
+        this.perIp = perIp;
+    }
+
+    public Limit getPerUsername() {
+        return perUsername;
+    }
+
+    public void setPerUsername(Limit perUsername) {
+        this.perUsername = perUsername;
+    }
+
+    /**
+     * Burst size and sustained rate of one bucket.
+     */
+    public static class Limit {
+
+        private int capacity;
+        private int refillPerMinute;
+
+        double tokensPerNano() {
+            return refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        }
+
+        // Getters and Setters
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
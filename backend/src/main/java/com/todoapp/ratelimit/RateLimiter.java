@@ -0,0 +1,77 @@
+package com.todoapp.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token buckets keyed by route and client key, local to this
+ * instance. The map is a {@link ConcurrentHashMap}, so lookups are lock-free
+ * and inserts only contend within one bin.
+ *
+ * <p>Buckets that have refilled completely are swept every
+ * {@code rate-limit.sweep-interval}. If {@code rate-limit.max-tracked-keys}
+ * is still exceeded after a sweep, new keys are let through untracked
+ * rather than growing the map without bound.</p>
+ */
+@Component
+public class RateLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private Counter untracked;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("rate.limit.buckets", buckets, Map::size)
+                .description("Token buckets currently held in memory").register(meterRegistry);
+        untracked = Counter.builder("rate.limit.untracked")
+                .description("Requests let through because the bucket map was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the bucket for {@code key}, creating it full on first
+     * use. Returns 0 when granted, otherwise the nanoseconds to wait.
+     */
+    public long tryAcquire(String key, RateLimitRule.Limit limit) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxTrackedKeys) {
+                sweep();
+                if (buckets.size() >= maxTrackedKeys) {
+                    untracked.increment();
+                    return 0;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit, now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:60000}")
+    public void sweep() {
+        // A token taken from a bucket while it is being removed is simply forgiven
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.todoapp.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket refilled continuously at a fixed rate. State is swapped with
+ * compare-and-set, so concurrent requests never block on each other.
+ */
+final class TokenBucket {
+
+    private final RateLimitRule.Limit limit;
+    private final AtomicReference<State> state;
+
+    TokenBucket(RateLimitRule.Limit limit, long now) {
+        this.limit = limit;
+        this.state = new AtomicReference<>(new State(limit.getCapacity(), now));
+    }
+
+    /**
+     * Takes one token. Returns 0 when granted, otherwise the nanoseconds until
+     * a token will be available.
+     */
+    long tryConsume(long now) {
+        while (true) {
+            State current = state.get();
+            double tokens = available(current, now);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / limit.tokensPerNano());
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt)))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves exactly like a missing one and can be dropped.
+     */
+    boolean isFull(long now) {
+        return available(state.get(), now) >= limit.getCapacity();
+    }
+
+    private double available(State current, long now) {
+        long elapsed = Math.max(0, now - current.refilledAt);
+        return Math.min(limit.getCapacity(), current.tokens + elapsed * limit.tokensPerNano());
+    }
+
+    private static final class State {
+        private final double tokens;
+        private final long refilledAt;
+
+        private State(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -1,33 +1,48 @@
 package com.todoapp.repository;
 
+import com.todoapp.dto.CategoryResponse;
 import com.todoapp.model.Category;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
-    List<Category> findByUserIdOrderByNameAsc(Long userId);
+    // Categories with their todo counts from one grouped query; the join repeats the
+    // owner so the counts come from idx_todos_user_category instead of a todos scan
+    String CATEGORY_WITH_COUNT_SELECT = "SELECT new com.todoapp.dto.CategoryResponse(c.id, c.name, c.description, " +
+            "c.color, c.createdAt, c.updatedAt, COUNT(t.id)) FROM Category c " +
+            "LEFT JOIN Todo t ON t.category = c AND t.user.id = :userId ";
 
-    Optional<Category> findByIdAndUserId(Long id, Long userId);
+    String CATEGORY_WITH_COUNT_GROUP_BY = "GROUP BY c.id, c.name, c.description, c.color, c.createdAt, c.updatedAt ";
 
-    boolean existsByNameAndUserId(String name, Long userId);
+    List<Category> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
 
-    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.todos WHERE c.user.id = :userId")
-    List<Category> findByUserIdWithTodos(@Param("userId") Long userId);
+    @Query("SELECT new com.todoapp.dto.CategoryResponse(c.id, c.name, c.description, c.color, " +
+           "c.createdAt, c.updatedAt) FROM Category c WHERE c.user.id = :userId ORDER BY c.name ASC")
+    List<CategoryResponse> findResponsesByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(c) FROM Category c WHERE c.user.id = :userId")
-    long countCategoriesByUser(@Param("userId") Long userId);
+    @Query(CATEGORY_WITH_COUNT_SELECT + "WHERE c.user.id = :userId " +
+           CATEGORY_WITH_COUNT_GROUP_BY + "ORDER BY c.name ASC, c.id ASC")
+    List<CategoryResponse> findResponsesWithTodoCountByUserId(@Param("userId") Long userId);
+
+    @Query(CATEGORY_WITH_COUNT_SELECT + "WHERE c.user.id = :userId " +
+           CATEGORY_WITH_COUNT_GROUP_BY + "ORDER BY c.name ASC, c.id ASC")
+    List<CategoryResponse> findResponsesWithTodoCountByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    @Query("SELECT c FROM Category c WHERE c.user.id = :userId AND " +
-           "(LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<Category> searchCategoriesByUser(@Param("userId") Long userId, @Param("query") String query);
+    @Query(CATEGORY_WITH_COUNT_SELECT + "WHERE c.id = :id AND c.user.id = :userId " + CATEGORY_WITH_COUNT_GROUP_BY)
+    Optional<CategoryResponse> findResponseWithTodoCountByIdAndUserId(@Param("id") Long id,
+                                                                       @Param("userId") Long userId);
 
-    void deleteByIdAndUserId(Long id, Long userId);
+    boolean existsByNameAndUserId(String name, Long userId);
+
+    @Query("SELECT COUNT(c) FROM Category c WHERE c.user.id = :userId")
+    long countCategoriesByUser(@Param("userId") Long userId);
 }
@@ -1,57 +1,148 @@
 package com.todoapp.repository;
 
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.event.TodoSnapshot;
 import com.todoapp.model.Todo;
 import com.todoapp.model.Priority;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryCustom {
 
-    List<Todo> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // Selects only the columns a TodoResponse needs, with the category summary in the same row
+    String TODO_RESPONSE_SELECT = "SELECT new com.todoapp.dto.TodoResponse(t.id, t.title, t.description, " +
+            "t.completed, t.priority, t.dueDate, t.completedAt, t.createdAt, t.updatedAt, " +
+            "c.id, c.name, c.color) FROM Todo t LEFT JOIN t.category c ";
 
     Page<Todo> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
-    List<Todo> findByUserIdAndCompletedOrderByCreatedAtDesc(Long userId, Boolean completed);
-
     List<Todo> findByUserIdAndPriorityOrderByCreatedAtDesc(Long userId, Priority priority);
 
     List<Todo> findByUserIdAndCategoryIdOrderByCreatedAtDesc(Long userId, Long categoryId);
 
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND " +
-           "(LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Todo> searchTodosByUser(@Param("userId") Long userId, @Param("search") String search);
+    // Served by idx_todos_user_category; stops at the first row
+    boolean existsByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    // Columns needed to build the in-memory search index, without loading entities; newest first
+    @Query("SELECT t.id, t.title, t.description, t.completed, t.createdAt FROM Todo t WHERE t.user.id = :userId " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Object[]> findSearchDocumentsByUserId(@Param("userId") Long userId, Pageable pageable);
 
     @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND t.dueDate BETWEEN :start AND :end")
     List<Todo> findTodosByDueDateRange(@Param("userId") Long userId, 
                                        @Param("start") LocalDateTime start, 
                                        @Param("end") LocalDateTime end);
 
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND t.dueDate < :now AND t.completed = false")
-    List<Todo> findOverdueTodos(@Param("userId") Long userId, @Param("now") LocalDateTime now);
-
-    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId AND DATE(t.dueDate) = DATE(:today)")
-    List<Todo> findTodosDueToday(@Param("userId") Long userId, @Param("today") LocalDateTime today);
-
-    @Query("SELECT COUNT(t) FROM Todo t WHERE t.user.id = :userId")
-    long countTodosByUser(@Param("userId") Long userId);
-
-    @Query("SELECT COUNT(t) FROM Todo t WHERE t.user.id = :userId AND t.completed = true")
-    long countCompletedTodosByUser(@Param("userId") Long userId);
-
-    @Query("SELECT COUNT(t) FROM Todo t WHERE t.user.id = :userId AND t.completed = false")
-    long countPendingTodosByUser(@Param("userId") Long userId);
-
+    // Due-date queries compare the bare column against half-open ranges so they are
+    // served by the partial index idx_todos_user_open_due (completed = false)
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.completed = false " +
+           "AND t.dueDate < :now ORDER BY t.dueDate, t.id")
+    List<TodoResponse> findOverdueTodos(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.completed = false " +
+           "AND t.dueDate >= :start AND t.dueDate < :end ORDER BY t.dueDate, t.id")
+    List<TodoResponse> findPendingDueBetween(@Param("userId") Long userId,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end);
+
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.completed = false " +
+           "AND t.dueDate < :end ORDER BY t.dueDate, t.id")
+    List<TodoResponse> findPendingDueBefore(@Param("userId") Long userId, @Param("end") LocalDateTime end);
+
+    // Served by idx_todos_user_change; the horizon comes from currentChangeHorizon()
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.changeXid >= :horizon ORDER BY t.changeXid, t.id")
+    List<TodoResponse> findChangedAfter(@Param("userId") Long userId, @Param("horizon") long horizon,
+                                        Pageable pageable);
+
+    // Served by idx_todos_user_updated; for databases without the change_xid trigger (H2)
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.updatedAt >= :since ORDER BY t.updatedAt, t.id")
+    List<TodoResponse> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                        Pageable pageable);
+
+    // Oldest transaction still running: every transaction that commits later has an id at or above it
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long currentChangeHorizon();
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<TodoResponse> streamResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TodoResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(TODO_RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.id IN :ids")
+    List<TodoResponse> findResponsesByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") List<Long> ids);
+
+    // Detached pre-change state of the rows a bulk operation is about to touch
+    @Query("SELECT new com.todoapp.event.TodoSnapshot(t.id, t.user.id, t.title, t.description, t.completed, " +
+           "t.priority, t.category.id, t.dueDate, t.completedAt, t.createdAt, t.updatedAt) " +
+           "FROM Todo t WHERE t.user.id = :userId AND t.id IN :ids")
+    List<TodoSnapshot> findSnapshotsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @EntityGraph(Todo.WITH_CATEGORY)
+    List<Todo> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    // Bulk statements bypass JPA auditing, so updatedAt and completedAt are set explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.completedAt = CASE WHEN t.completed = true THEN NULL ELSE :now END, " +
+           "t.completed = CASE WHEN t.completed = true THEN false ELSE true END, t.updatedAt = :now " +
+           "WHERE t.user.id = :userId AND t.id IN :ids")
+    int toggleByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.user.id = :userId AND t.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * One row per (completed, priority, category) group with the row count,
+     * pending overdue count, pending due-today count and the earliest pending
+     * due date that has not passed yet.
+     */
+    @Query("SELECT t.completed, t.priority, t.category.id, COUNT(t), " +
+           "SUM(CASE WHEN t.completed = false AND t.dueDate < :now THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.completed = false AND t.dueDate >= :todayStart " +
+           "AND t.dueDate < :tomorrowStart THEN 1 ELSE 0 END), " +
+           "MIN(CASE WHEN t.completed = false AND t.dueDate >= :now THEN t.dueDate ELSE NULL END) " +
+           "FROM Todo t WHERE t.user.id = :userId " +
+           "GROUP BY t.completed, t.priority, t.category.id")
+    List<Object[]> aggregateTodoStats(@Param("userId") Long userId,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("todayStart") LocalDateTime todayStart,
+                                      @Param("tomorrowStart") LocalDateTime tomorrowStart);
+
+    // Category is fetched in the same select since write responses embed it
+    @EntityGraph(Todo.WITH_CATEGORY)
     Optional<Todo> findByIdAndUserId(Long id, Long userId);
 
-    void deleteByIdAndUserId(Long id, Long userId);
+    // Ownership is part of the statement; 0 rows means not found or not the user's
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.id = :id AND t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // PostgreSQL only. Deletes the user's todo and returns the columns of its TodoSnapshot in
+    // the same statement; no rows means not found or not the user's
+    @Transactional
+    @Query(value = "DELETE FROM todos WHERE id = :id AND user_id = :userId " +
+                   "RETURNING id, user_id, title, description, completed, priority, category_id, " +
+                   "due_date, completed_at, created_at, updated_at", nativeQuery = true)
+    List<Object[]> deleteReturningSnapshot(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -0,0 +1,17 @@
+package com.todoapp.repository;
+
+import com.todoapp.dto.TodoResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TodoRepositoryCustom {
+
+    /**
+     * Keyset page of a user's todos ordered by {@code createdAt DESC, id DESC}.
+     * Rows strictly after ({@code afterCreatedAt}, {@code afterId}) are returned;
+     * pass nulls for the first page. {@code completed} is an optional filter.
+     */
+    List<TodoResponse> findTodoPage(Long userId, Boolean completed,
+                                    LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,43 @@
+package com.todoapp.repository;
+
+import com.todoapp.dto.TodoResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TodoRepositoryImpl implements TodoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TodoResponse> findTodoPage(Long userId, Boolean completed,
+                                           LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        // Only the predicates in use are rendered so each filter combination gets its own plan
+        StringBuilder jpql = new StringBuilder(TodoRepository.TODO_RESPONSE_SELECT)
+                .append("WHERE t.user.id = :userId");
+        if (completed != null) {
+            jpql.append(" AND t.completed = :completed");
+        }
+        if (afterCreatedAt != null) {
+            jpql.append(" AND (t.createdAt < :afterCreatedAt OR ")
+                .append("(t.createdAt = :afterCreatedAt AND t.id < :afterId))");
+        }
+        jpql.append(" ORDER BY t.createdAt DESC, t.id DESC");
+
+        TypedQuery<TodoResponse> query = entityManager.createQuery(jpql.toString(), TodoResponse.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (completed != null) {
+            query.setParameter("completed", completed);
+        }
+        if (afterCreatedAt != null) {
+            query.setParameter("afterCreatedAt", afterCreatedAt);
+            query.setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+}
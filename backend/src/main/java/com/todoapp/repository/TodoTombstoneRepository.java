@@ -0,0 +1,32 @@
+package com.todoapp.repository;
+
+import com.todoapp.model.TodoTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    // Served by idx_todo_tombstones_user_change
+    @Query("SELECT t.todoId FROM TodoTombstone t WHERE t.userId = :userId AND t.changeXid >= :horizon " +
+           "ORDER BY t.changeXid, t.id")
+    List<Long> findDeletedTodoIdsAfter(@Param("userId") Long userId, @Param("horizon") long horizon,
+                                       Pageable pageable);
+
+    // For databases without the change_xid trigger (H2)
+    @Query("SELECT t.todoId FROM TodoTombstone t WHERE t.userId = :userId AND t.deletedAt >= :since " +
+           "ORDER BY t.deletedAt, t.id")
+    List<Long> findDeletedTodoIdsSince(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                       Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TodoTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,36 @@
+package com.todoapp.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked todo ids plus the total number of matches. When
+ * {@code partial} is set, only the user's most recent todos were searched.
+ */
+public class SearchHits {
+
+    private final List<Long> ids;
+    private final int total;
+    private final boolean partial;
+
+    public SearchHits(List<Long> ids, int total) {
+        this(ids, total, false);
+    }
+
+    public SearchHits(List<Long> ids, int total, boolean partial) {
+        this.ids = ids;
+        this.total = total;
+        this.partial = partial;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+}
@@ -0,0 +1,107 @@
+package com.todoapp.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoSnapshot;
+import com.todoapp.repository.TodoRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * In-process full-text index of todos, one {@link UserTodoIndex} per user.
+ *
+ * <p>A user's index is built from the database on their first search and
+ * then kept current from committed {@link TodoChangedEvent}s. Only the most
+ * recently searched users are kept in memory, and each index holds at most
+ * {@code search.index.max-docs-per-user} todos: for users with more, it
+ * covers the newest ones and results are flagged as partial.</p>
+ *
+ * <p>An index is built inside the cache's per-user compute, so a change
+ * event for that user waits for the build and is then applied to the new
+ * index. Applying a change the build already saw is harmless: every update
+ * replaces the todo's whole entry.</p>
+ */
+@Component
+public class TodoSearchIndex {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Value("${search.index.max-users:1000}")
+    private int maxUsers;
+
+    @Value("${search.index.max-docs-per-user:20000}")
+    private int maxDocsPerUser;
+
+    private Cache<Long, UserTodoIndex> indexes;
+
+    @PostConstruct
+    void createCache() {
+        indexes = Caffeine.newBuilder().maximumSize(maxUsers).build();
+    }
+
+    @Transactional(readOnly = true)
+    public SearchHits search(Long userId, String query, Boolean completed, int offset, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(query);
+        if (terms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+        return indexes.get(userId, this::build).search(terms, completed, offset, limit);
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        // compute() rather than computeIfPresent(): it waits for a build in progress
+        indexes.asMap().compute(event.getUserId(), (userId, index) -> {
+            if (index == null) {
+                return null;
+            }
+            TodoSnapshot after = event.getAfter();
+            switch (event.getType()) {
+                case DELETED:
+                    index.remove(event.getTodoId());
+                    return index;
+                case TOGGLED:
+                    if (after == null) {
+                        return null;
+                    }
+                    index.setCompleted(event.getTodoId(), after.isCompleted());
+                    return index;
+                default:
+                    if (after == null) {
+                        return null;
+                    }
+                    index.put(after.getId(), after.getTitle(), after.getDescription(),
+                            after.isCompleted(), after.getCreatedAt());
+                    // Rebuilt from the newest todos on the next search
+                    return index.size() > maxDocsPerUser ? null : index;
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        indexes.invalidate(userId);
+    }
+
+    private UserTodoIndex build(Long userId) {
+        // One extra row tells whether the user has more todos than the index holds
+        List<Object[]> rows = todoRepository.findSearchDocumentsByUserId(userId,
+                PageRequest.of(0, maxDocsPerUser + 1));
+        boolean partial = rows.size() > maxDocsPerUser;
+        UserTodoIndex index = new UserTodoIndex(partial);
+        for (Object[] row : partial ? rows.subList(0, maxDocsPerUser) : rows) {
+            index.put((Long) row[0], (String) row[1], (String) row[2],
+                    Boolean.TRUE.equals(row[3]), (LocalDateTime) row[4]);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,203 @@
+package com.todoapp.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over one user's todo titles and descriptions, ranked with
+ * BM25 and a title boost. Terms are kept sorted so prefix queries are a
+ * range scan over every matching term. A partial index holds only the
+ * user's most recent todos (see {@link TodoSearchIndex}).
+ */
+final class UserTodoIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_BOOST = 2.0;
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private final NavigableMap<String, Map<Long, Posting>> postings = new TreeMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final boolean partial;
+
+    UserTodoIndex(boolean partial) {
+        this.partial = partial;
+    }
+
+    void put(Long id, String title, String description, boolean completed, LocalDateTime createdAt) {
+        List<String> titleTerms = TextAnalyzer.tokenize(title);
+        List<String> descriptionTerms = TextAnalyzer.tokenize(description);
+
+        Map<String, Posting> termPostings = new HashMap<>();
+        for (String term : titleTerms) {
+            termPostings.computeIfAbsent(term, t -> new Posting()).titleFreq++;
+        }
+        for (String term : descriptionTerms) {
+            termPostings.computeIfAbsent(term, t -> new Posting()).descriptionFreq++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            Doc doc = new Doc(termPostings.keySet(), titleTerms.size() + descriptionTerms.size(),
+                    completed, createdAt);
+            docs.put(id, doc);
+            totalLength += doc.length;
+            termPostings.forEach((term, posting) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, posting));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setCompleted(Long id, boolean completed) {
+        lock.writeLock().lock();
+        try {
+            Doc doc = docs.get(id);
+            if (doc != null) {
+                doc.completed = completed;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every query term must match a title or description term, either exactly
+     * or as a prefix; exact matches rank higher.
+     */
+    SearchHits search(List<String> queryTerms, Boolean completed, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (queryTerms.isEmpty() || docs.isEmpty()) {
+                return new SearchHits(new ArrayList<>(), 0, partial);
+            }
+
+            double avgLength = Math.max(1.0, (double) totalLength / docs.size());
+            Map<Long, double[]> scores = null;
+
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = scoreTerm(queryTerm, avgLength);
+                if (scores == null) {
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Double> e : termScores.entrySet()) {
+                        scores.put(e.getKey(), new double[] {e.getValue()});
+                    }
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    for (Map.Entry<Long, double[]> e : scores.entrySet()) {
+                        e.getValue()[0] += termScores.get(e.getKey());
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return new SearchHits(new ArrayList<>(), 0, partial);
+                }
+            }
+
+            List<Map.Entry<Long, double[]>> ranked = new ArrayList<>();
+            for (Map.Entry<Long, double[]> e : scores.entrySet()) {
+                if (completed == null || docs.get(e.getKey()).completed == completed) {
+                    ranked.add(e);
+                }
+            }
+            ranked.sort(Comparator.<Map.Entry<Long, double[]>>comparingDouble(e -> -e.getValue()[0])
+                    .thenComparing(e -> docs.get(e.getKey()).createdAt,
+                            Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+
+            List<Long> page = new ArrayList<>();
+            for (int i = offset; i < ranked.size() && page.size() < limit; i++) {
+                page.add(ranked.get(i).getKey());
+            }
+            return new SearchHits(page, ranked.size(), partial);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per document for one query term over its exact and prefix expansions
+    private Map<Long, Double> scoreTerm(String queryTerm, double avgLength) {
+        Map<Long, Double> best = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Posting>> entry
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            double weight = entry.getKey().equals(queryTerm) ? 1.0 : PREFIX_WEIGHT;
+            Map<Long, Posting> termPostings = entry.getValue();
+            double idf = Math.log(1 + (docs.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+
+            for (Map.Entry<Long, Posting> p : termPostings.entrySet()) {
+                Doc doc = docs.get(p.getKey());
+                double tf = p.getValue().titleFreq * TITLE_BOOST + p.getValue().descriptionFreq;
+                double norm = K1 * (1 - B + B * doc.length / avgLength);
+                double score = weight * idf * tf * (K1 + 1) / (tf + norm);
+                best.merge(p.getKey(), score, Math::max);
+            }
+        }
+        return best;
+    }
+
+    private void removeLocked(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        totalLength -= doc.length;
+        for (String term : doc.terms) {
+            Map<Long, Posting> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static final class Posting {
+        private int titleFreq;
+        private int descriptionFreq;
+    }
+
+    private static final class Doc {
+        private final Set<String> terms;
+        private final int length;
+        private boolean completed;
+        private final LocalDateTime createdAt;
+
+        private Doc(Set<String> terms, int length, boolean completed, LocalDateTime createdAt) {
+            this.terms = new HashSet<>(terms);
+            this.length = length;
+            this.completed = completed;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.todoapp.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,9 +18,15 @@ import java.io.IOException;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
+    @Autowired
+    private JwtTokenCache jwtTokenCache;
+
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
     @Autowired
     private UserDetailsService userDetailsService;
 
@@ -28,10 +35,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwt != null ? jwtTokenCache.getVerifiedClaims(jwt) : null;
+            UserDetails userDetails = claims != null ? resolveUser(claims) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, 
                                                               userDetails.getAuthorities());
@@ -46,6 +52,27 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveUser(Claims claims) {
+        UserPrincipal principal = jwtUtils.getUserPrincipalFromClaims(claims);
+        if (principal == null) {
+            // Token issued before identity claims were embedded: fall back to a lookup.
+            // It carries no version claim either, so it counts as version 0 and is
+            // rejected once the user has revoked their tokens.
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            if (userDetails instanceof UserPrincipal loaded && !tokenVersionCache.isCurrent(loaded.getId(), 0)) {
+                logger.debug("Rejecting revoked token for user " + loaded.getId());
+                return null;
+            }
+            return userDetails;
+        }
+
+        if (!tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion())) {
+            logger.debug("Rejecting revoked token for user " + principal.getId());
+            return null;
+        }
+        return principal;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,86 @@
+package com.todoapp.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC keys together with the single parser that verifies
+ * against them. Built once and swapped as a whole on key rotation, so the
+ * hot path never derives keys or builds parsers.
+ */
+final class JwtKeyRing {
+
+    private static final int MIN_KEY_BYTES = 64; // HS512 needs a 512-bit key
+
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> keys;
+    private final JwtParser parser;
+
+    private JwtKeyRing(String activeKeyId, Map<String, SecretKey> keys) {
+        this.activeKeyId = activeKeyId;
+        this.activeKey = keys.get(activeKeyId);
+        this.keys = Collections.unmodifiableMap(keys);
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    static JwtKeyRing of(String activeKeyId, Map<String, String> secrets) {
+        if (!secrets.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("No secret configured for active JWT key id: " + activeKeyId);
+        }
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        secrets.forEach((keyId, secret) -> {
+            byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < MIN_KEY_BYTES) {
+                throw new IllegalArgumentException("JWT secret '" + keyId + "' must be at least "
+                        + MIN_KEY_BYTES + " bytes for HS512");
+            }
+            keys.put(keyId, Keys.hmacShaKeyFor(keyBytes));
+        });
+        return new JwtKeyRing(activeKeyId, keys);
+    }
+
+    String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    SecretKey getActiveKey() {
+        return activeKey;
+    }
+
+    JwtParser getParser() {
+        return parser;
+    }
+
+    private Key keyFor(String keyId) {
+        // Tokens issued before key ids were introduced carry no kid header
+        if (keyId == null) {
+            return activeKey;
+        }
+
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT signing key id: " + keyId);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,35 @@
+package com.todoapp.security;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Published to swap the JWT signing keys at runtime.
+ *
+ * <p>{@code secrets} holds every key that should still be accepted for
+ * verification, by key id; {@code activeKeyId} selects the one used to sign
+ * new tokens. Tokens signed with a key id that is no longer listed stop
+ * validating immediately.</p>
+ */
+public class JwtKeyRotationEvent extends ApplicationEvent {
+
+    private final String activeKeyId;
+    private final Map<String, String> secrets;
+
+    public JwtKeyRotationEvent(Object source, String activeKeyId, Map<String, String> secrets) {
+        super(source);
+        this.activeKeyId = activeKeyId;
+        this.secrets = Collections.unmodifiableMap(new LinkedHashMap<>(secrets));
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public Map<String, String> getSecrets() {
+        return secrets;
+    }
+}
@@ -0,0 +1,163 @@
+package com.todoapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of already verified JWTs so a token's signature is checked
+ * once per lifetime instead of on every request.
+ *
+ * <p>Entries are keyed by a SHA-256 digest of the raw token (the token itself
+ * is never kept) and are dropped as soon as the {@code exp} claim passes.
+ * Tokens without an expiry are verified but not cached.</p>
+ */
+@Component
+public class JwtTokenCache {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+
+    // Bumped by invalidateAll so a verification that straddled it is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private Counter hits;
+    private Counter misses;
+    private Counter expiredEvictions;
+    private Counter sizeEvictions;
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("jwt.cache.requests").tag("result", "hit")
+                .description("Verified-token cache lookups").register(meterRegistry);
+        misses = Counter.builder("jwt.cache.requests").tag("result", "miss")
+                .description("Verified-token cache lookups").register(meterRegistry);
+        expiredEvictions = Counter.builder("jwt.cache.evictions").tag("cause", "expired")
+                .description("Verified-token cache evictions").register(meterRegistry);
+        sizeEvictions = Counter.builder("jwt.cache.evictions").tag("cause", "size")
+                .description("Verified-token cache evictions").register(meterRegistry);
+        Gauge.builder("jwt.cache.size", tokens, Map::size)
+                .description("Verified tokens currently cached").register(meterRegistry);
+    }
+
+    /**
+     * Returns the claims of a valid token, verifying it only if it has not
+     * been seen before, or {@code null} when the token is not acceptable.
+     */
+    public Claims getVerifiedClaims(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        CachedToken cached = tokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.increment();
+                return cached.claims;
+            }
+            if (tokens.remove(key, cached)) {
+                expiredEvictions.increment();
+            }
+        }
+
+        misses.increment();
+        long verifiedIn = generation.get();
+        Claims claims = jwtUtils.getValidatedClaims(token);
+        if (claims == null) {
+            return null;
+        }
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.getTime() > now) {
+            if (tokens.size() >= maxSize) {
+                makeRoom(now);
+            }
+            tokens.put(key, new CachedToken(claims, expiration.getTime()));
+            if (generation.get() != verifiedIn) {
+                // Possibly verified with keys that were rotated out meanwhile
+                tokens.remove(key);
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Drops every cached token, e.g. after the signing keys changed.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        tokens.clear();
+    }
+
+    @EventListener
+    public void onKeyRotation(JwtKeyRotationEvent event) {
+        // Keys first: anything cached after the clear was verified with the new ones
+        jwtUtils.rotateKeys(event);
+        invalidateAll();
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private void makeRoom(long now) {
+        Iterator<CachedToken> it = tokens.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+                expiredEvictions.increment();
+            }
+        }
+
+        // Still full with live tokens: shed arbitrary entries, they will simply be verified again.
+        it = tokens.values().iterator();
+        while (tokens.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedToken {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private CachedToken(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
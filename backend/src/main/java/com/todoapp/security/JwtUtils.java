@@ -1,62 +1,162 @@
 package com.todoapp.security;
 
+import com.todoapp.model.Role;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+
+    // Claims that let the filter rebuild the principal without a database lookup
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${jwt.key-id:default}")
+    private String jwtKeyId;
+
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Swapped atomically on rotation; readers always see a consistent key set and parser
+    private volatile JwtKeyRing keyRing;
+
+    private Timer validVerifications;
+    private Timer invalidVerifications;
+
+    @PostConstruct
+    void initKeyRing() {
+        // Retired keys that should still verify tokens issued before a restart-based rotation
+        Map<String, String> secrets = new LinkedHashMap<>(Binder.get(environment)
+                .bind("jwt.previous-keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Collections.emptyMap()));
+        secrets.put(jwtKeyId, jwtSecret);
+        keyRing = JwtKeyRing.of(jwtKeyId, secrets);
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        validVerifications = verificationTimer("valid");
+        invalidVerifications = verificationTimer("invalid");
+    }
+
+    private Timer verificationTimer(String result) {
+        return Timer.builder("jwt.verification").tag("result", result)
+                .description("JWT signature and expiry checks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replaces the signing and verification keys. Called by
+     * {@link JwtTokenCache} on a {@link JwtKeyRotationEvent}, so the cache is
+     * only cleared once the new keys are in place.
+     */
+    void rotateKeys(JwtKeyRotationEvent event) {
+        keyRing = JwtKeyRing.of(event.getActiveKeyId(), event.getSecrets());
     }
 
     public String generateJwtToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        JwtKeyRing ring = keyRing;
 
         return Jwts.builder()
-                .setSubject((userPrincipal.getUsername()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .header().keyId(ring.getActiveKeyId()).and()
+                .subject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLE, userPrincipal.getRole().name())
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
+                .issuedAt(new Date())
+                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .signWith(ring.getActiveKey(), Jwts.SIG.HS512)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    /**
+     * Builds the principal from verified claims, or returns {@code null} for
+     * tokens issued before the identity claims were added.
+     */
+    public UserPrincipal getUserPrincipalFromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        return UserPrincipal.create(
+                userId,
+                claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class),
+                Role.valueOf(role),
+                tokenVersion != null ? tokenVersion : 0
+        );
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token signature and expiry once and returns its claims,
+     * or {@code null} when the token is not acceptable.
+     */
+    public Claims getValidatedClaims(String authToken) {
+        long start = System.nanoTime();
+        Claims claims = verifyClaims(authToken);
+        (claims != null ? validVerifications : invalidVerifications)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    private Claims verifyClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
+            return parseClaims(authToken);
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            logger.debug("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            logger.debug("JWT token is unsupported: {}", e.getMessage());
+        } catch (SecurityException e) {
+            logger.debug("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            logger.debug("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private Claims parseClaims(String token) {
+        return keyRing.getParser()
+                .parseSignedClaims(token)
+                .getPayload();
     }
 }
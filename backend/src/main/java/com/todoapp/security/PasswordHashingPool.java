@@ -0,0 +1,147 @@
+package com.todoapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small fixed pool that runs every password hash and verification, so a
+ * burst of sign-ins can occupy at most {@code threads} cores while todo
+ * requests keep the rest.
+ *
+ * <p>Work beyond the queue capacity, or still waiting after
+ * {@code auth.password.hashing.max-wait}, is rejected with
+ * {@link PasswordHashingRejectedException} instead of piling up behind
+ * the request threads.</p>
+ *
+ * <p>The pool bounds CPU, not request threads: the calling thread still
+ * blocks on the hash's future, for at most {@code max-wait} plus the hash
+ * itself. A sign-in burst can therefore hold up to {@code threads +
+ * queue-capacity} servlet threads; keep that well below the server's
+ * thread count.</p>
+ */
+@Component
+public class PasswordHashingPool {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.password.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.password.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.password.hashing.max-wait:5000}")
+    private long maxWaitMs;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Timer queueWait;
+    private Counter rejectedFull;
+    private Counter rejectedTimeout;
+
+    @PostConstruct
+    void start() {
+        // 0 means half the cores: hashing never takes the whole machine
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        encodeTimer = hashingTimer("encode");
+        matchesTimer = hashingTimer("matches");
+        queueWait = Timer.builder("auth.password.hashing.wait")
+                .description("Time password work spent queued before a hashing thread picked it up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejectedFull = rejectedCounter("queue-full");
+        rejectedTimeout = rejectedCounter("timeout");
+        Gauge.builder("auth.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a hashing thread").register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running").register(meterRegistry);
+    }
+
+    private Timer hashingTimer(String operation) {
+        return Timer.builder("auth.password.hashing").tag("operation", operation)
+                .description("CPU time spent hashing or verifying a password")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter rejectedCounter(String reason) {
+        return Counter.builder("auth.password.hashing.rejected").tag("reason", reason)
+                .description("Password hashes refused because the hashing pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public String encode(Callable<String> task) {
+        return run(task, encodeTimer);
+    }
+
+    public boolean matches(Callable<Boolean> task) {
+        return run(task, matchesTimer);
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedFull.increment();
+            throw new PasswordHashingRejectedException("Too many sign-in requests, please retry shortly");
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimeout.increment();
+            throw new PasswordHashingRejectedException("Too many sign-in requests, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.todoapp.security;
+
+/**
+ * Thrown when the password hashing pool is saturated. Callers should answer
+ * with 503 and let the client retry instead of reporting bad credentials.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
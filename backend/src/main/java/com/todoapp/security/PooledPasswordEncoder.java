@@ -0,0 +1,34 @@
+package com.todoapp.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs the delegate's expensive operations on the {@link PasswordHashingPool}
+ * instead of the calling request thread. {@code upgradeEncoding} only parses
+ * the stored hash and stays on the caller.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingPool pool;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingPool pool) {
+        this.delegate = delegate;
+        this.pool = pool;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return pool.encode(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return pool.matches(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,100 @@
+package com.todoapp.security;
+
+import com.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of each user's current token version, used to reject
+ * revoked tokens without a users-table lookup on every request.
+ *
+ * <p>Entries are reloaded after {@code jwt.revocation.cache-ttl} so that a
+ * revocation done on another instance is picked up within that window.</p>
+ */
+@Component
+public class TokenVersionCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.revocation.cache-ttl:60000}")
+    private long cacheTtlMs;
+
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    private Timer lookups;
+
+    @PostConstruct
+    void registerMetrics() {
+        lookups = Timer.builder("auth.user.lookup").tag("source", "token-version")
+                .description("User lookups made while authenticating a request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether a token carrying {@code tokenVersion} is still valid for
+     * the user. Unknown (deleted) users are treated as revoked.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+        if (cached == null || cached.loadedAt + cacheTtlMs < now) {
+            Integer current = lookups.record(() -> userRepository.findTokenVersionById(userId).orElse(null));
+            if (current == null) {
+                versions.remove(userId);
+                return false;
+            }
+            cached = new CachedVersion(current, now);
+            versions.put(userId, cached);
+        }
+        return cached.version == tokenVersion;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far.
+     */
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        evictAfterCommit(userId);
+    }
+
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+
+    private void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private static final class CachedVersion {
+        private final int version;
+        private final long loadedAt;
+
+        private CachedVersion(int version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.todoapp.security;
 
+import com.todoapp.model.Role;
 import com.todoapp.model.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,14 +15,18 @@ public class UserPrincipal implements UserDetails {
     private String username;
     private String email;
     private String password;
+    private Role role;
+    private int tokenVersion;
     private Collection<? extends GrantedAuthority> authorities;
 
-    public UserPrincipal(Long id, String username, String email, String password, 
-                        Collection<? extends GrantedAuthority> authorities) {
+    public UserPrincipal(Long id, String username, String email, String password, Role role,
+                        int tokenVersion, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
         this.authorities = authorities;
     }
 
@@ -33,10 +38,20 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
+                user.getRole(),
+                user.getTokenVersion(),
                 Collections.singletonList(authority)
         );
     }
 
+    // Principal rebuilt from verified token claims; carries no password
+    public static UserPrincipal create(Long id, String username, String email, Role role, int tokenVersion) {
+        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.name());
+
+        return new UserPrincipal(id, username, email, null, role, tokenVersion,
+                Collections.singletonList(authority));
+    }
+
     public Long getId() {
         return id;
     }
@@ -45,6 +60,14 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public Role getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     @Override
     public String getUsername() {
         return username;
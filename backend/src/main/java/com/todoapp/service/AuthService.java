@@ -7,9 +7,12 @@ import com.todoapp.model.Role;
 import com.todoapp.model.User;
 import com.todoapp.repository.UserRepository;
 import com.todoapp.security.JwtUtils;
+import com.todoapp.security.PasswordHashingRejectedException;
+import com.todoapp.security.TokenVersionCache;
 import com.todoapp.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -33,11 +36,25 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(), 
-                        loginRequest.getPassword()));
+        Authentication authentication;
+        try {
+            authentication = authenticationManager
+                    .authenticate(new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(), 
+                            loginRequest.getPassword()));
+        } catch (InternalAuthenticationServiceException e) {
+            // For an unknown username the provider still verifies a dummy password, against
+            // timing attacks, and wraps its failure. Rethrow it unwrapped so a saturated hashing
+            // pool answers the same for unknown and known usernames.
+            if (e.getCause() instanceof PasswordHashingRejectedException) {
+                throw (PasswordHashingRejectedException) e.getCause();
+            }
+            throw e;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -48,8 +65,7 @@ public class AuthService {
                 jwt,
                 userPrincipal.getId(),
                 userPrincipal.getUsername(),
-                userPrincipal.getEmail(),
-                userPrincipal.getRole().name()
+                userPrincipal.getEmail()
         );
     }
 
@@ -123,7 +139,7 @@ public class AuthService {
         return userRepository.save(currentUser);
     }
 
-    public void changePassword(String currentPassword, String newPassword) {
+    public JwtResponse changePassword(String currentPassword, String newPassword) {
         User currentUser = getCurrentUser();
         
         // Verify current password
@@ -134,5 +150,21 @@ public class AuthService {
         // Update password
         currentUser.setPassword(encoder.encode(newPassword));
         userRepository.save(currentUser);
+
+        // Tokens issued with the old password must stop working, including the caller's
+        tokenVersionCache.revokeAll(currentUser.getId());
+
+        // Hand back a replacement token carrying the bumped version
+        int tokenVersion = userRepository.findTokenVersionById(currentUser.getId()).orElse(0);
+        UserPrincipal principal = UserPrincipal.create(currentUser.getId(), currentUser.getUsername(),
+                currentUser.getEmail(), currentUser.getRole(), tokenVersion);
+        String jwt = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        return new JwtResponse(jwt, currentUser);
+    }
+
+    public void revokeAllTokens() {
+        tokenVersionCache.revokeAll(getCurrentUserId());
     }
 }
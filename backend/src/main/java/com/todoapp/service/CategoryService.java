@@ -1,14 +1,22 @@
 package com.todoapp.service;
 
 import com.todoapp.dto.CategoryRequest;
+import com.todoapp.dto.CategoryResponse;
+import com.todoapp.event.CategoryChangedEvent;
 import com.todoapp.model.Category;
 import com.todoapp.model.User;
 import com.todoapp.repository.CategoryRepository;
+import com.todoapp.repository.TodoRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.search.TextAnalyzer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,20 +27,42 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TodoRepository todoRepository;
+
     @Autowired
     private UserRepository userRepository;
 
-    public List<Category> getAllCategoriesByUser(Long userId) {
-        return categoryRepository.findByUserIdOrderByNameAsc(userId);
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${categories.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${categories.page.max-size:500}")
+    private int maxPageSize;
+
+    public List<CategoryResponse> getAllCategoriesByUser(Long userId) {
+        return categoryRepository.findResponsesWithTodoCountByUserId(userId);
+    }
+
+    /**
+     * One page of the user's categories, ordered by name, each with its todo
+     * count; no todo rows are loaded.
+     */
+    public List<CategoryResponse> getCategoryPageWithTodoCounts(Long userId, Integer page, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        return categoryRepository.findResponsesWithTodoCountByUserId(userId, PageRequest.of(pageNumber, pageSize));
     }
 
-    public Optional<Category> getCategoryById(Long id, Long userId) {
-        return categoryRepository.findByIdAndUserId(id, userId);
+    public Optional<CategoryResponse> getCategoryById(Long id, Long userId) {
+        return categoryRepository.findResponseWithTodoCountByIdAndUserId(id, userId);
     }
 
     public Category createCategory(CategoryRequest categoryRequest, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Only the foreign key is needed; the id comes from an authenticated token
+        User user = userRepository.getReferenceById(userId);
 
         // Check if category name already exists for this user
         if (categoryRepository.existsByNameAndUserId(categoryRequest.getName(), userId)) {
@@ -45,12 +75,13 @@ public class CategoryService {
         category.setColor(categoryRequest.getColor());
         category.setUser(user);
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(CategoryChangedEvent.Type.CREATED, userId, saved.getId()));
+        return saved;
     }
 
     public Category updateCategory(Long id, CategoryRequest categoryRequest, Long userId) {
-        Category category = categoryRepository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = findOwnedCategory(id, userId);
 
         // Check if category name already exists for this user (excluding current category)
         if (!category.getName().equals(categoryRequest.getName()) && 
@@ -62,26 +93,53 @@ public class CategoryService {
         category.setDescription(categoryRequest.getDescription());
         category.setColor(categoryRequest.getColor());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(CategoryChangedEvent.Type.UPDATED, userId, saved.getId()));
+        return saved;
     }
 
     public void deleteCategory(Long id, Long userId) {
-        Category category = categoryRepository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = findOwnedCategory(id, userId);
 
         // Check if category is in use
-        if (category.getTodos() != null && !category.getTodos().isEmpty()) {
+        if (todoRepository.existsByUserIdAndCategoryId(userId, id)) {
             throw new RuntimeException("Cannot delete category with existing todos");
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(CategoryChangedEvent.Type.DELETED, userId, id));
+    }
+
+    // Primary-key load is served from the second-level cache; ownership is checked in memory
+    private Category findOwnedCategory(Long id, Long userId) {
+        return categoryRepository.findById(id)
+                .filter(category -> category.getUser().getId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Category not found"));
     }
 
     public long getTotalCategories(Long userId) {
         return categoryRepository.countCategoriesByUser(userId);
     }
 
-    public List<Category> searchCategories(String query, Long userId) {
-        return categoryRepository.searchCategoriesByUser(userId, query);
+    public List<CategoryResponse> searchCategories(String query, Long userId) {
+        // A user has few categories: filter the ordered list instead of a LIKE scan
+        List<String> queryTerms = TextAnalyzer.tokenize(query);
+        List<CategoryResponse> matches = new ArrayList<>();
+        for (CategoryResponse category : categoryRepository.findResponsesWithTodoCountByUserId(userId)) {
+            // Name and description, as the LIKE query this replaced matched either
+            List<String> terms = new ArrayList<>(TextAnalyzer.tokenize(category.getName()));
+            terms.addAll(TextAnalyzer.tokenize(category.getDescription()));
+            boolean allMatch = !queryTerms.isEmpty();
+            for (String queryTerm : queryTerms) {
+                if (terms.stream().noneMatch(term -> term.startsWith(queryTerm))) {
+                    allMatch = false;
+                    break;
+                }
+            }
+            if (allMatch) {
+                matches.add(category);
+            }
+        }
+        return matches;
     }
 }
@@ -0,0 +1,55 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.export.TodoExportFormat;
+import com.todoapp.export.TodoExportWriter;
+import com.todoapp.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class TodoExportService {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Streams all of the user's todos to {@code out}, newest first. Rows are
+     * read through a forward-only cursor as DTO projections, so nothing
+     * accumulates in the persistence context and memory use does not depend
+     * on how many todos the user has.
+     *
+     * @return the number of todos written
+     */
+    @Transactional(readOnly = true)
+    public long exportTodos(Long userId, TodoExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TodoExportWriter exportWriter = format.newWriter(writer, objectMapper);
+        long count = 0;
+
+        exportWriter.writeHeader();
+        try (Stream<TodoResponse> todos = todoRepository.streamResponsesByUserId(userId)) {
+            Iterator<TodoResponse> it = todos.iterator();
+            while (it.hasNext()) {
+                exportWriter.write(it.next());
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+}
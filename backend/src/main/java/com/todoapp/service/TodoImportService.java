@@ -0,0 +1,244 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.CategoryResponse;
+import com.todoapp.dto.TodoImportReport;
+import com.todoapp.dto.TodoImportReport.Type;
+import com.todoapp.dto.TodoRequest;
+import com.todoapp.event.CategoryChangedEvent;
+import com.todoapp.export.TodoExportFormat;
+import com.todoapp.importer.TodoImportReader;
+import com.todoapp.importer.TodoImportRow;
+import com.todoapp.model.Category;
+import com.todoapp.model.Todo;
+import com.todoapp.model.User;
+import com.todoapp.repository.CategoryRepository;
+import com.todoapp.search.TodoSearchIndex;
+import com.todoapp.sse.TodoEventStream;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports todos from an NDJSON or CSV upload.
+ *
+ * <p>Rows are parsed one at a time from the request body and saved in
+ * batches of {@code todos.import.batch-size}, each in its own transaction
+ * that is flushed and cleared, so memory stays bounded and the upload is
+ * only read as fast as it is persisted. A failed batch does not undo the
+ * batches before it; every rejected row is reported with its line number.</p>
+ */
+@Service
+public class TodoImportService {
+
+    private static final int MAX_CATEGORY_NAME_LENGTH = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TodoStatsService todoStatsService;
+
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+
+    @Autowired
+    private TodoEventStream todoEventStream;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${todos.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${todos.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    /**
+     * Reads rows from {@code in} and writes NDJSON {@link TodoImportReport}
+     * lines to {@code out} as it goes, ending with a DONE or ABORTED line.
+     */
+    public void importTodos(Long userId, TodoExportFormat format, InputStream in, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TodoImportReader rows = TodoImportReader.open(format,
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), objectMapper);
+        ImportState state = new ImportState(writer, loadCategoryIds(userId));
+        List<TodoImportRow> batch = new ArrayList<>(batchSize);
+
+        try {
+            TodoImportRow row;
+            while ((row = rows.next()) != null) {
+                state.processed++;
+                String error = row.isValid() ? validate(row) : row.getError();
+                if (error != null) {
+                    state.reject(row.getLine(), error, 1);
+                    continue;
+                }
+
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    saveBatch(userId, batch, state);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                saveBatch(userId, batch, state);
+            }
+            state.report(new TodoImportReport(Type.DONE, state.processed, state.imported, state.failed));
+        } catch (IllegalArgumentException e) {
+            // Unrecoverable input such as a CSV without a title column
+            TodoImportReport aborted = new TodoImportReport(Type.ABORTED, state.processed, state.imported, state.failed);
+            aborted.setError(e.getMessage());
+            state.report(aborted);
+        }
+        writer.flush();
+    }
+
+    private Map<String, Long> loadCategoryIds(Long userId) {
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (CategoryResponse category : categoryRepository.findResponsesByUserId(userId)) {
+            categoryIds.put(category.getName(), category.getId());
+        }
+        return categoryIds;
+    }
+
+    private String validate(TodoImportRow row) {
+        Set<ConstraintViolation<TodoRequest>> violations = validator.validate(row.getRequest());
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (row.getCategoryName() != null && row.getCategoryName().length() > MAX_CATEGORY_NAME_LENGTH) {
+            return "Category name must be between 1 and 100 characters";
+        }
+        return null;
+    }
+
+    private void saveBatch(Long userId, List<TodoImportRow> batch, ImportState state) throws IOException {
+        Map<String, Long> createdCategories = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // References only: no SELECT for the user or for known categories
+                User user = entityManager.getReference(User.class, userId);
+                for (TodoImportRow row : batch) {
+                    TodoRequest request = row.getRequest();
+                    Todo todo = new Todo();
+                    todo.setTitle(request.getTitle());
+                    todo.setDescription(request.getDescription());
+                    todo.setPriority(request.getPriority());
+                    todo.setDueDate(request.getDueDate());
+                    todo.setUser(user);
+                    if (row.isCompleted()) {
+                        todo.setCompleted(true);
+                        if (row.getCompletedAt() != null) {
+                            todo.setCompletedAt(row.getCompletedAt());
+                        }
+                    }
+                    if (row.getCategoryName() != null) {
+                        Long categoryId = resolveCategory(row.getCategoryName(), user, state, createdCategories);
+                        todo.setCategory(entityManager.getReference(Category.class, categoryId));
+                    }
+                    entityManager.persist(todo);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                // Delivered to transactional listeners only if the batch commits
+                for (Long categoryId : createdCategories.values()) {
+                    eventPublisher.publishEvent(
+                            new CategoryChangedEvent(CategoryChangedEvent.Type.CREATED, userId, categoryId));
+                }
+            });
+            state.imported += batch.size();
+
+            todoStatsService.evict(userId);
+            todoSearchIndex.evict(userId);
+            todoEventStream.publish(userId, "todo", Map.of("type", "IMPORTED", "count", batch.size()));
+        } catch (RuntimeException e) {
+            // Categories created by the rolled back batch no longer exist
+            state.categoryIds.keySet().removeAll(createdCategories.keySet());
+            long firstLine = batch.get(0).getLine();
+            long lastLine = batch.get(batch.size() - 1).getLine();
+            state.reject(firstLine, "Rows on lines " + firstLine + "-" + lastLine + " were not saved: "
+                    + e.getMessage(), batch.size());
+        }
+
+        state.report(new TodoImportReport(Type.PROGRESS, state.processed, state.imported, state.failed));
+        state.writer.flush();
+    }
+
+    private Long resolveCategory(String name, User user, ImportState state, Map<String, Long> createdCategories) {
+        Long categoryId = state.categoryIds.get(name);
+        if (categoryId == null) {
+            Category category = new Category();
+            category.setName(name);
+            category.setUser(user);
+            entityManager.persist(category);
+            categoryId = category.getId();
+            state.categoryIds.put(name, categoryId);
+            createdCategories.put(name, categoryId);
+        }
+        return categoryId;
+    }
+
+    private final class ImportState {
+        private final Writer writer;
+        // Category name to id for the importing user, filled once and extended as rows create categories
+        private final Map<String, Long> categoryIds;
+        private long processed;
+        private long imported;
+        private long failed;
+        private int reportedErrors;
+
+        private ImportState(Writer writer, Map<String, Long> categoryIds) {
+            this.writer = writer;
+            this.categoryIds = categoryIds;
+        }
+
+        private void reject(long line, String error, int rows) throws IOException {
+            failed += rows;
+            if (reportedErrors++ < maxReportedErrors) {
+                TodoImportReport report = new TodoImportReport(Type.ERROR, processed, imported, failed);
+                report.setLine(line);
+                report.setError(error);
+                report(report);
+            }
+        }
+
+        private void report(TodoImportReport report) throws IOException {
+            writer.write(objectMapper.writeValueAsString(report));
+            writer.write('\n');
+        }
+    }
+}
@@ -1,19 +1,47 @@
 package com.todoapp.service;
 
+import com.todoapp.dto.CursorPage;
+import com.todoapp.dto.TodoAgenda;
+import com.todoapp.dto.TodoBatchRequest;
+import com.todoapp.dto.TodoBatchResponse;
+import com.todoapp.dto.TodoBatchResult;
+import com.todoapp.dto.TodoBatchResult.Operation;
+import com.todoapp.dto.TodoBatchUpdate;
+import com.todoapp.dto.TodoCursor;
 import com.todoapp.dto.TodoRequest;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoSnapshot;
+import com.todoapp.mapper.TodoMapper;
 import com.todoapp.model.Category;
+import com.todoapp.model.Priority;
 import com.todoapp.model.Todo;
+import com.todoapp.model.TodoTombstone;
 import com.todoapp.model.User;
 import com.todoapp.repository.CategoryRepository;
 import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.TodoTombstoneRepository;
 import com.todoapp.repository.UserRepository;
+import com.todoapp.search.SearchHits;
+import com.todoapp.search.TodoSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -28,17 +56,94 @@ public class TodoService {
     @Autowired
     private CategoryRepository categoryRepository;
 
-    public List<Todo> getAllTodosByUser(Long userId) {
-        return todoRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TodoMapper todoMapper;
+
+    @Value("${todos.batch.max-operations:500}")
+    private int maxBatchSize;
+
+    @Value("${todos.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${todos.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${todos.agenda.default-days:7}")
+    private int defaultAgendaDays;
+
+    @Value("${todos.agenda.max-days:31}")
+    private int maxAgendaDays;
+
+    // DELETE ... RETURNING is PostgreSQL-only; the H2 test profile runs without the migrations
+    @Value("${spring.flyway.enabled:true}")
+    private boolean deleteReturning;
+
+    public CursorPage<TodoResponse> getTodoPage(Long userId, Boolean completed, String search,
+                                                String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        if (search != null) {
+            return searchTodoPage(userId, completed, search, cursor, pageSize);
+        }
+        TodoCursor after = cursor != null ? TodoCursor.decode(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists
+        List<TodoResponse> todos = todoRepository.findTodoPage(userId, completed,
+                after != null ? after.getCreatedAt() : null,
+                after != null ? after.getId() : null,
+                pageSize + 1);
+
+        String nextCursor = null;
+        if (todos.size() > pageSize) {
+            todos = todos.subList(0, pageSize);
+            TodoResponse last = todos.get(pageSize - 1);
+            nextCursor = new TodoCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(todos, nextCursor);
     }
 
-    public Optional<Todo> getTodoById(Long id, Long userId) {
-        return todoRepository.findByIdAndUserId(id, userId);
+    // Ranked by relevance from the search index, then projected by primary key in rank order
+    private CursorPage<TodoResponse> searchTodoPage(Long userId, Boolean completed, String search,
+                                                    String cursor, int pageSize) {
+        int offset = cursor != null ? TodoCursor.decodeOffset(cursor) : 0;
+        SearchHits hits = todoSearchIndex.search(userId, search, completed, offset, pageSize);
+
+        Map<Long, TodoResponse> byId = new HashMap<>();
+        if (!hits.getIds().isEmpty()) {
+            for (TodoResponse todo : todoRepository.findResponsesByUserIdAndIdIn(userId, hits.getIds())) {
+                byId.put(todo.getId(), todo);
+            }
+        }
+        List<TodoResponse> todos = new ArrayList<>();
+        for (Long id : hits.getIds()) {
+            TodoResponse todo = byId.get(id);
+            if (todo != null) {
+                todos.add(todo);
+            }
+        }
+
+        int nextOffset = offset + hits.getIds().size();
+        String nextCursor = nextOffset < hits.getTotal() ? TodoCursor.encodeOffset(nextOffset) : null;
+        CursorPage<TodoResponse> page = new CursorPage<>(todos, nextCursor);
+        page.setPartial(hits.isPartial());
+        return page;
+    }
+
+    public Optional<TodoResponse> getTodoById(Long id, Long userId) {
+        return todoRepository.findResponseByIdAndUserId(id, userId);
     }
 
     public Todo createTodo(TodoRequest todoRequest, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Only the foreign key is needed; the id comes from an authenticated token
+        User user = userRepository.getReferenceById(userId);
 
         Todo todo = new Todo();
         todo.setTitle(todoRequest.getTitle());
@@ -48,17 +153,19 @@ public class TodoService {
         todo.setUser(user);
 
         if (todoRequest.getCategoryId() != null) {
-            Category category = categoryRepository.findByIdAndUserId(todoRequest.getCategoryId(), userId)
-                    .orElseThrow(() -> new RuntimeException("Category not found"));
+            Category category = findOwnedCategory(todoRequest.getCategoryId(), userId);
             todo.setCategory(category);
         }
 
-        return todoRepository.save(todo);
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(TodoSnapshot.of(saved)));
+        return saved;
     }
 
     public Todo updateTodo(Long id, TodoRequest todoRequest, Long userId) {
         Todo todo = todoRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Todo not found"));
+        TodoSnapshot before = TodoSnapshot.of(todo);
 
         todo.setTitle(todoRequest.getTitle());
         todo.setDescription(todoRequest.getDescription());
@@ -66,57 +173,325 @@ public class TodoService {
         todo.setDueDate(todoRequest.getDueDate());
 
         if (todoRequest.getCategoryId() != null) {
-            Category category = categoryRepository.findByIdAndUserId(todoRequest.getCategoryId(), userId)
-                    .orElseThrow(() -> new RuntimeException("Category not found"));
+            Category category = findOwnedCategory(todoRequest.getCategoryId(), userId);
             todo.setCategory(category);
         } else {
             todo.setCategory(null);
         }
 
-        return todoRepository.save(todo);
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(before, TodoSnapshot.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Loads the category by primary key, so it is served from the second-level
+     * cache, and checks ownership in memory instead of in the query.
+     */
+    private Category findOwnedCategory(Long categoryId, Long userId) {
+        return categoryRepository.findById(categoryId)
+                .filter(category -> category.getUser().getId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Category not found"));
     }
 
+    /**
+     * Flips the flag in a single conditional UPDATE, so concurrent toggles
+     * cannot overwrite each other, then reads the row back for the response.
+     */
     public Todo toggleTodo(Long id, Long userId) {
+        if (todoRepository.toggleByUserIdAndIdIn(userId, Set.of(id), LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Todo not found");
+        }
         Todo todo = todoRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Todo not found"));
 
-        todo.setCompleted(!todo.getCompleted());
-        
-        return todoRepository.save(todo);
+        TodoSnapshot after = TodoSnapshot.of(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.toggled(after.beforeToggle(), after));
+        return todo;
     }
 
-    public void deleteTodo(Long id, Long userId) {
-        Todo todo = todoRepository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-        
-        todoRepository.delete(todo);
+    /**
+     * Applies creates, updates, toggles and deletes in one transaction, in that
+     * order. Toggles and deletes are single set-based statements scoped to the
+     * user; ids that are not the user's, unknown categories and repeated ids
+     * are reported per item instead of failing the whole batch.
+     */
+    public TodoBatchResponse applyBatch(TodoBatchRequest request, Long userId) {
+        if (request.size() > maxBatchSize) {
+            throw new RuntimeException("Batch must not contain more than " + maxBatchSize + " operations");
+        }
+
+        TodoBatchResponse response = new TodoBatchResponse();
+        Map<Long, Category> categories = loadBatchCategories(request, userId);
+        batchCreate(request.getCreate(), categories, userId, response);
+        batchUpdate(request.getUpdate(), categories, userId, response);
+        batchToggle(request.getToggle(), userId, response);
+        batchDelete(request.getDelete(), userId, response);
+        return response;
+    }
+
+    private Map<Long, Category> loadBatchCategories(TodoBatchRequest request, Long userId) {
+        Set<Long> categoryIds = new HashSet<>();
+        for (TodoRequest item : request.getCreate()) {
+            if (item.getCategoryId() != null) {
+                categoryIds.add(item.getCategoryId());
+            }
+        }
+        for (TodoRequest item : request.getUpdate()) {
+            if (item.getCategoryId() != null) {
+                categoryIds.add(item.getCategoryId());
+            }
+        }
+
+        Map<Long, Category> categories = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            for (Category category : categoryRepository.findByUserIdAndIdIn(userId, categoryIds)) {
+                categories.put(category.getId(), category);
+            }
+        }
+        return categories;
+    }
+
+    private void batchCreate(List<TodoRequest> items, Map<Long, Category> categories, Long userId,
+                             TodoBatchResponse response) {
+        if (items.isEmpty()) {
+            return;
+        }
+        // Only the foreign key is needed, as in createTodo
+        User user = userRepository.getReferenceById(userId);
+
+        List<Todo> todos = new ArrayList<>();
+        List<TodoBatchResult> results = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TodoRequest item = items.get(i);
+            if (item.getCategoryId() != null && !categories.containsKey(item.getCategoryId())) {
+                response.add(TodoBatchResult.failed(Operation.CREATE, i, null, "Category not found"));
+                continue;
+            }
+
+            Todo todo = new Todo();
+            todo.setTitle(item.getTitle());
+            todo.setDescription(item.getDescription());
+            todo.setPriority(item.getPriority());
+            todo.setDueDate(item.getDueDate());
+            todo.setUser(user);
+            todo.setCategory(item.getCategoryId() != null ? categories.get(item.getCategoryId()) : null);
+            todos.add(todo);
+
+            TodoBatchResult result = TodoBatchResult.ok(Operation.CREATE, i, null);
+            results.add(result);
+            response.add(result);
+        }
+
+        // Inserts go out in JDBC batches of hibernate.jdbc.batch_size
+        todoRepository.saveAll(todos);
+        for (int i = 0; i < todos.size(); i++) {
+            Todo todo = todos.get(i);
+            results.get(i).setId(todo.getId());
+            results.get(i).setTodo(todoMapper.toResponse(todo));
+            eventPublisher.publishEvent(TodoChangedEvent.created(TodoSnapshot.of(todo)));
+        }
     }
 
-    public List<Todo> searchTodos(String query, Long userId) {
-        return todoRepository.searchTodosByUser(userId, query);
+    private void batchUpdate(List<TodoBatchUpdate> items, Map<Long, Category> categories, Long userId,
+                             TodoBatchResponse response) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (TodoBatchUpdate item : items) {
+            ids.add(item.getId());
+        }
+        Map<Long, Todo> todos = new HashMap<>();
+        for (Todo todo : todoRepository.findByUserIdAndIdIn(userId, ids)) {
+            todos.put(todo.getId(), todo);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        Map<TodoBatchResult, Todo> updated = new LinkedHashMap<>();
+        Map<Long, TodoSnapshot> before = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            TodoBatchUpdate item = items.get(i);
+            Todo todo = todos.get(item.getId());
+            if (!seen.add(item.getId())) {
+                response.add(TodoBatchResult.failed(Operation.UPDATE, i, item.getId(), "Duplicate todo id"));
+                continue;
+            }
+            if (todo == null) {
+                response.add(TodoBatchResult.notFound(Operation.UPDATE, i, item.getId()));
+                continue;
+            }
+            if (item.getCategoryId() != null && !categories.containsKey(item.getCategoryId())) {
+                response.add(TodoBatchResult.failed(Operation.UPDATE, i, item.getId(), "Category not found"));
+                continue;
+            }
+
+            before.put(todo.getId(), TodoSnapshot.of(todo));
+            todo.setTitle(item.getTitle());
+            todo.setDescription(item.getDescription());
+            todo.setPriority(item.getPriority());
+            todo.setDueDate(item.getDueDate());
+            todo.setCategory(item.getCategoryId() != null ? categories.get(item.getCategoryId()) : null);
+
+            TodoBatchResult result = TodoBatchResult.ok(Operation.UPDATE, i, todo.getId());
+            updated.put(result, todo);
+            response.add(result);
+        }
+
+        // Dirty rows are written as one JDBC batch; flushing also stamps updatedAt
+        todoRepository.flush();
+        for (Map.Entry<TodoBatchResult, Todo> entry : updated.entrySet()) {
+            Todo todo = entry.getValue();
+            entry.getKey().setTodo(todoMapper.toResponse(todo));
+            eventPublisher.publishEvent(TodoChangedEvent.updated(before.get(todo.getId()), TodoSnapshot.of(todo)));
+        }
     }
 
-    public List<Todo> getTodosByCompleted(Boolean completed, Long userId) {
-        return todoRepository.findByUserIdAndCompletedOrderByCreatedAtDesc(userId, completed);
+    private void batchToggle(List<Long> ids, Long userId, TodoBatchResponse response) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, TodoSnapshot> owned = findOwnedSnapshots(ids, userId);
+        LocalDateTime now = LocalDateTime.now();
+        if (!owned.isEmpty()) {
+            todoRepository.toggleByUserIdAndIdIn(userId, owned.keySet(), now);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            TodoSnapshot before = owned.get(id);
+            if (!seen.add(id)) {
+                response.add(TodoBatchResult.failed(Operation.TOGGLE, i, id, "Duplicate todo id"));
+            } else if (before == null) {
+                response.add(TodoBatchResult.notFound(Operation.TOGGLE, i, id));
+            } else {
+                TodoSnapshot after = before.toggled(now);
+                TodoBatchResult result = TodoBatchResult.ok(Operation.TOGGLE, i, id);
+                result.setCompleted(after.isCompleted());
+                response.add(result);
+                eventPublisher.publishEvent(TodoChangedEvent.toggled(before, after));
+            }
+        }
     }
 
-    public List<Todo> getTodosDueToday(Long userId) {
-        return todoRepository.findTodosDueToday(userId, LocalDateTime.now());
+    private void batchDelete(List<Long> ids, Long userId, TodoBatchResponse response) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, TodoSnapshot> owned = findOwnedSnapshots(ids, userId);
+        if (!owned.isEmpty()) {
+            todoRepository.deleteByUserIdAndIdIn(userId, owned.keySet());
+            LocalDateTime now = LocalDateTime.now();
+            List<TodoTombstone> tombstones = new ArrayList<>();
+            for (Long id : owned.keySet()) {
+                tombstones.add(new TodoTombstone(id, userId, now));
+            }
+            todoTombstoneRepository.saveAll(tombstones);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            TodoSnapshot before = owned.get(id);
+            if (!seen.add(id)) {
+                response.add(TodoBatchResult.failed(Operation.DELETE, i, id, "Duplicate todo id"));
+            } else if (before == null) {
+                response.add(TodoBatchResult.notFound(Operation.DELETE, i, id));
+            } else {
+                response.add(TodoBatchResult.ok(Operation.DELETE, i, id));
+                eventPublisher.publishEvent(TodoChangedEvent.deleted(before));
+            }
+        }
     }
 
-    public List<Todo> getOverdueTodos(Long userId) {
-        return todoRepository.findOverdueTodos(userId, LocalDateTime.now());
+    private Map<Long, TodoSnapshot> findOwnedSnapshots(List<Long> ids, Long userId) {
+        Set<Long> distinct = new HashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        Map<Long, TodoSnapshot> owned = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            for (TodoSnapshot snapshot : todoRepository.findSnapshotsByUserIdAndIdIn(userId, distinct)) {
+                owned.put(snapshot.getId(), snapshot);
+            }
+        }
+        return owned;
     }
 
-    public long getTotalTodos(Long userId) {
-        return todoRepository.countTodosByUser(userId);
+    public void deleteTodo(Long id, Long userId) {
+        if (!deleteReturning) {
+            if (todoRepository.deleteByIdAndUserId(id, userId) == 0) {
+                throw new RuntimeException("Todo not found");
+            }
+            todoTombstoneRepository.save(new TodoTombstone(id, userId, LocalDateTime.now()));
+            // Without a snapshot the stats counters are dropped and recomputed
+            eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.DELETED, userId, id, null, null));
+            return;
+        }
+
+        // The returned snapshot lets the stats counters be adjusted rather than dropped
+        List<Object[]> deleted = todoRepository.deleteReturningSnapshot(id, userId);
+        if (deleted.isEmpty()) {
+            throw new RuntimeException("Todo not found");
+        }
+        todoTombstoneRepository.save(new TodoTombstone(id, userId, LocalDateTime.now()));
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(toSnapshot(deleted.get(0))));
+    }
+
+    private static TodoSnapshot toSnapshot(Object[] row) {
+        return new TodoSnapshot(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                (String) row[2],
+                (String) row[3],
+                (Boolean) row[4],
+                Priority.valueOf((String) row[5]),
+                row[6] != null ? ((Number) row[6]).longValue() : null,
+                toLocalDateTime(row[7]),
+                toLocalDateTime(row[8]),
+                toLocalDateTime(row[9]),
+                toLocalDateTime(row[10]));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value != null ? ((Timestamp) value).toLocalDateTime() : null;
     }
 
-    public long getCompletedTodos(Long userId) {
-        return todoRepository.countCompletedTodosByUser(userId);
+    /**
+     * Pending todos due on the user's current date. Due dates are wall-clock
+     * times, so "today" is computed in the user's time zone, not the server's.
+     */
+    public List<TodoResponse> getTodosDueToday(Long userId, ZoneId zone) {
+        LocalDateTime todayStart = LocalDate.now(zone).atStartOfDay();
+        return todoRepository.findPendingDueBetween(userId, todayStart, todayStart.plusDays(1));
     }
 
-    public long getPendingTodos(Long userId) {
-        return todoRepository.countPendingTodosByUser(userId);
+    public List<TodoResponse> getOverdueTodos(Long userId, ZoneId zone) {
+        return todoRepository.findOverdueTodos(userId, LocalDateTime.now(zone));
+    }
+
+    /**
+     * Overdue, due-today and upcoming todos from a single index range scan;
+     * {@code days} is clamped to {@code todos.agenda.max-days}.
+     */
+    public TodoAgenda getAgenda(Long userId, ZoneId zone, Integer days) {
+        int upcomingDays = days == null ? defaultAgendaDays : Math.max(0, Math.min(days, maxAgendaDays));
+        LocalDateTime now = LocalDateTime.now(zone);
+        LocalDateTime tomorrowStart = now.toLocalDate().plusDays(1).atStartOfDay();
+
+        TodoAgenda agenda = new TodoAgenda(now.toLocalDate(), zone.getId(), upcomingDays);
+        for (TodoResponse todo : todoRepository.findPendingDueBefore(userId, tomorrowStart.plusDays(upcomingDays))) {
+            if (todo.getDueDate().isBefore(now)) {
+                agenda.getOverdue().add(todo);
+            } else if (todo.getDueDate().isBefore(tomorrowStart)) {
+                agenda.getToday().add(todo);
+            } else {
+                agenda.getUpcoming().add(todo);
+            }
+        }
+        return agenda;
     }
 }
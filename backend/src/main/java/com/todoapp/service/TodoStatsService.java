@@ -0,0 +1,205 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TodoStats;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoSnapshot;
+import com.todoapp.model.Priority;
+import com.todoapp.repository.TodoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Computes dashboard stats with a single grouped query and keeps a per-user
+ * copy that is adjusted in place as todos are created, toggled, updated and
+ * deleted, so repeated dashboard loads do not touch the database.
+ *
+ * <p>Overdue and due-today counts depend on the clock, so a cached entry is
+ * only trusted until the next midnight or the next pending due date,
+ * whichever comes first. Due dates are wall-clock times, so both are measured
+ * in the caller's zone, as {@code /todos/due-today} and {@code /todos/agenda}
+ * do; an entry is only reused for the zone it was computed in.</p>
+ *
+ * <p>Entries live in a bounded cache and are recomputed inside the cache's
+ * per-user compute, so a change event for that user waits for the recompute
+ * and then finds the new entry. A change is only applied in place when the
+ * entry's query finished before the change was published; otherwise the
+ * query may already include it and the entry is dropped instead.</p>
+ */
+@Service
+public class TodoStatsService {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Value("${todos.stats.cache.max-users:10000}")
+    private int maxCachedUsers;
+
+    private Cache<Long, CachedStats> cache;
+
+    @PostConstruct
+    void createCache() {
+        cache = Caffeine.newBuilder().maximumSize(maxCachedUsers).build();
+    }
+
+    @Transactional(readOnly = true)
+    public TodoStats getStats(Long userId, ZoneId zone) {
+        LocalDateTime now = LocalDateTime.now(zone);
+        CachedStats cached = cache.getIfPresent(userId);
+        if (cached == null || !cached.isValid(zone, now)) {
+            cached = cache.asMap().compute(userId, (id, current) ->
+                    current != null && current.isValid(zone, now) ? current : compute(id, zone, now));
+        }
+        return new TodoStats(cached.stats);
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        // compute() rather than computeIfPresent(): it waits for a recompute in progress
+        cache.asMap().compute(event.getUserId(), (userId, current) -> {
+            if (current == null) {
+                return null;
+            }
+            if (current.computedNanos - event.getPublishedNanos() > 0) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now(current.zone);
+            if (!now.isBefore(current.validUntil)) {
+                return null;
+            }
+            if (!hasFullState(event)) {
+                return null;
+            }
+            return current.apply(event.getBefore(), event.getAfter(), now);
+        });
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private static boolean hasFullState(TodoChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                return event.getAfter() != null;
+            case DELETED:
+                return event.getBefore() != null;
+            default:
+                return event.getBefore() != null && event.getAfter() != null;
+        }
+    }
+
+    private CachedStats compute(Long userId, ZoneId zone, LocalDateTime now) {
+        LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
+        LocalDateTime tomorrowStart = todayStart.plusDays(1);
+        LocalDateTime validUntil = tomorrowStart;
+
+        TodoStats stats = new TodoStats();
+        List<Object[]> rows = todoRepository.aggregateTodoStats(userId, now, todayStart, tomorrowStart);
+        for (Object[] row : rows) {
+            boolean completed = Boolean.TRUE.equals(row[0]);
+            Priority priority = (Priority) row[1];
+            Long categoryId = (Long) row[2];
+            long count = ((Number) row[3]).longValue();
+
+            stats.setTotal(stats.getTotal() + count);
+            if (completed) {
+                stats.setCompleted(stats.getCompleted() + count);
+            } else {
+                stats.setPending(stats.getPending() + count);
+            }
+            stats.getByPriority().merge(priority, count, Long::sum);
+            if (categoryId != null) {
+                stats.getByCategory().merge(categoryId, count, Long::sum);
+            } else {
+                stats.setUncategorized(stats.getUncategorized() + count);
+            }
+            stats.setOverdue(stats.getOverdue() + toLong(row[4]));
+            stats.setDueToday(stats.getDueToday() + toLong(row[5]));
+
+            LocalDateTime nextDue = (LocalDateTime) row[6];
+            if (nextDue != null && nextDue.isBefore(validUntil)) {
+                validUntil = nextDue;
+            }
+        }
+        return new CachedStats(stats, zone, validUntil, System.nanoTime());
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static final class CachedStats {
+        private final TodoStats stats;
+        // Zone the clock-dependent counts and validUntil are expressed in
+        private final ZoneId zone;
+        private final LocalDateTime validUntil;
+        // When the query behind these counts returned; changes published later are not in it
+        private final long computedNanos;
+
+        private CachedStats(TodoStats stats, ZoneId zone, LocalDateTime validUntil, long computedNanos) {
+            this.stats = stats;
+            this.zone = zone;
+            this.validUntil = validUntil;
+            this.computedNanos = computedNanos;
+        }
+
+        boolean isValid(ZoneId zone, LocalDateTime now) {
+            return this.zone.equals(zone) && now.isBefore(validUntil);
+        }
+
+        // Returns a new entry; published entries are never mutated so readers need no locking
+        CachedStats apply(TodoSnapshot before, TodoSnapshot after, LocalDateTime now) {
+            TodoStats next = new TodoStats(stats);
+            LocalDateTime nextValidUntil = validUntil;
+            if (before != null) {
+                add(next, before, -1, now);
+            }
+            if (after != null) {
+                add(next, after, 1, now);
+                LocalDateTime due = after.getDueDate();
+                if (!after.isCompleted() && due != null && !due.isBefore(now) && due.isBefore(nextValidUntil)) {
+                    nextValidUntil = due;
+                }
+            }
+            return new CachedStats(next, zone, nextValidUntil, computedNanos);
+        }
+
+        private static void add(TodoStats stats, TodoSnapshot todo, int sign, LocalDateTime now) {
+            stats.setTotal(stats.getTotal() + sign);
+            if (todo.isCompleted()) {
+                stats.setCompleted(stats.getCompleted() + sign);
+            } else {
+                stats.setPending(stats.getPending() + sign);
+            }
+            stats.getByPriority().merge(todo.getPriority(), (long) sign, Long::sum);
+            if (todo.getCategoryId() != null) {
+                stats.getByCategory().merge(todo.getCategoryId(), (long) sign, Long::sum);
+                stats.getByCategory().remove(todo.getCategoryId(), 0L);
+            } else {
+                stats.setUncategorized(stats.getUncategorized() + sign);
+            }
+
+            LocalDateTime due = todo.getDueDate();
+            if (!todo.isCompleted() && due != null) {
+                if (due.isBefore(now)) {
+                    stats.setOverdue(stats.getOverdue() + sign);
+                }
+                LocalDate today = now.toLocalDate();
+                if (due.toLocalDate().equals(today)) {
+                    stats.setDueToday(stats.getDueToday() + sign);
+                }
+            }
+        }
+    }
+}
@@ -3,25 +3,56 @@ package com.todoapp.service;
 import com.todoapp.model.User;
 import com.todoapp.repository.UserRepository;
 import com.todoapp.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer lookups;
+
+    @PostConstruct
+    void registerMetrics() {
+        lookups = Timer.builder("auth.user.lookup").tag("source", "username")
+                .description("User lookups made while authenticating a request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = lookups.record(() -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         return UserPrincipal.create(user);
     }
+
+    /**
+     * Stores a re-hashed password after a successful sign-in whose stored hash
+     * used an older algorithm or a lower cost than the current encoder.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) userDetails;
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + principal.getUsername()));
+        user.setPassword(newPassword);
+        return UserPrincipal.create(userRepository.save(user));
+    }
 }
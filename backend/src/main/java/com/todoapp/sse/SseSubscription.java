@@ -0,0 +1,124 @@
+package com.todoapp.sse;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One connected client. Events are queued in a bounded buffer and written
+ * by at most one executor task at a time; when the client reads too slowly
+ * the oldest events are dropped and the client is told how many it missed.
+ * Events that cannot be handed to the executor because it is saturated are
+ * dropped the same way.
+ */
+final class SseSubscription {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor executor;
+    private final Counter droppedEvents;
+
+    // Guarded by itself
+    private final ArrayDeque<Set<DataWithMediaType>> buffer = new ArrayDeque<>();
+    private int dropped;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    SseSubscription(SseEmitter emitter, int capacity, Executor executor, Counter droppedEvents) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.droppedEvents = droppedEvents;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    void enqueue(Set<DataWithMediaType> event) {
+        if (closed) {
+            return;
+        }
+        synchronized (buffer) {
+            if (buffer.size() >= capacity) {
+                buffer.pollFirst();
+                dropped++;
+                droppedEvents.increment();
+            }
+            buffer.addLast(event);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Ends the stream from the server side.
+     */
+    void close() {
+        closed = true;
+        emitter.complete();
+    }
+
+    private void scheduleDrain() {
+        if (closed || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Writers are saturated: drop what is buffered and report it on the next
+            // write (at the latest the heartbeat) rather than closing the stream
+            synchronized (buffer) {
+                int discarded = buffer.size();
+                buffer.clear();
+                dropped += discarded;
+                droppedEvents.increment(discarded);
+            }
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                Set<DataWithMediaType> next;
+                int missed;
+                synchronized (buffer) {
+                    next = buffer.pollFirst();
+                    missed = dropped;
+                    dropped = 0;
+                }
+                if (missed > 0) {
+                    emitter.send(SseEmitter.event().name("overflow")
+                            .data(Map.of("dropped", missed), MediaType.APPLICATION_JSON));
+                }
+                if (next == null) {
+                    break;
+                }
+                emitter.send(next);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client is gone; the emitter's error callback removes the subscription
+            closed = true;
+        } finally {
+            draining.set(false);
+        }
+
+        // An event may have been queued after the last poll but before the flag was cleared
+        synchronized (buffer) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+        }
+        scheduleDrain();
+    }
+}
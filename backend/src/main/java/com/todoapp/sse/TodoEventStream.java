@@ -0,0 +1,176 @@
+package com.todoapp.sse;
+
+import com.todoapp.event.CategoryChangedEvent;
+import com.todoapp.event.TodoChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user fan-out of committed todo and category changes to Server-Sent
+ * Events connections.
+ *
+ * <p>Connections are async requests, so an idle client holds no thread.
+ * Writes are done by short tasks on a small pool of its own, so slow clients
+ * cannot tie up the threads other async work runs on. When that pool's queue
+ * is full, the connection's buffered events are counted as dropped and the
+ * client gets the overflow notice on its next write. Events only carry the
+ * change type and id; clients fetch the data through
+ * {@code /api/todos/changes}, so a dropped event costs nothing but the
+ * overflow notice that makes the client catch up.</p>
+ */
+@Component
+public class TodoEventStream {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sse.timeout:1800000}")
+    private long timeoutMs;
+
+    @Value("${sse.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${sse.executor.threads:8}")
+    private int writerThreads;
+
+    @Value("${sse.executor.queue-capacity:10000}")
+    private int writerQueueCapacity;
+
+    // Not a bean: an Executor bean would replace Spring Boot's applicationTaskExecutor
+    private ThreadPoolTaskExecutor writer;
+
+    private final Map<Long, List<SseSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private Counter droppedEvents;
+
+    @PostConstruct
+    void start() {
+        writer = new ThreadPoolTaskExecutor();
+        writer.setCorePoolSize(writerThreads);
+        writer.setMaxPoolSize(writerThreads);
+        // At most one drain per connection is ever queued
+        writer.setQueueCapacity(writerQueueCapacity);
+        writer.setThreadNamePrefix("sse-writer-");
+        writer.setDaemon(true);
+        writer.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        writer.initialize();
+
+        droppedEvents = Counter.builder("sse.events.dropped")
+                .description("Events dropped for slow SSE clients").register(meterRegistry);
+        Gauge.builder("sse.connections", connections, AtomicInteger::get)
+                .description("Open SSE connections").register(meterRegistry);
+        Gauge.builder("sse.writer.queue", writer, w -> w.getThreadPoolExecutor().getQueue().size())
+                .description("SSE connections waiting for a writer thread").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        writer.shutdown();
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SseSubscription subscription = new SseSubscription(emitter, bufferSize, writer, droppedEvents);
+        emitter.onCompletion(() -> unsubscribe(userId, subscription));
+        emitter.onError(e -> unsubscribe(userId, subscription));
+        emitter.onTimeout(emitter::complete);
+
+        List<SseSubscription> evicted = new ArrayList<>();
+        subscriptions.compute(userId, (id, current) -> {
+            List<SseSubscription> list = current != null ? current : new ArrayList<>();
+            list.add(subscription);
+            // Oldest connections beyond the limit are usually tabs that were never closed
+            while (list.size() > maxConnectionsPerUser) {
+                evicted.add(list.remove(0));
+            }
+            return list;
+        });
+        // Evicted ones are already out of the map, so their completion callback will not count them
+        connections.addAndGet(1 - evicted.size());
+        evicted.forEach(SseSubscription::close);
+
+        // First write commits the response headers, so the client knows it is connected
+        subscription.enqueue(SseEmitter.event().name("ready").data(Map.of(), MediaType.APPLICATION_JSON).build());
+        return emitter;
+    }
+
+    public void publish(Long userId, String name, Map<String, ?> data) {
+        List<SseSubscription> targets = snapshot(userId);
+        if (targets.isEmpty()) {
+            return;
+        }
+        // Built once: an event builder appends its terminator on every build()
+        Set<DataWithMediaType> event = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON).build();
+        for (SseSubscription subscription : targets) {
+            subscription.enqueue(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        publish(event.getUserId(), "todo", Map.of("type", event.getType(), "id", event.getTodoId()));
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        publish(event.getUserId(), "category", Map.of("type", event.getType(), "id", event.getCategoryId()));
+    }
+
+    // Detects dead connections and keeps proxies from closing idle streams
+    @Scheduled(fixedDelayString = "${sse.heartbeat-interval:25000}")
+    public void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("keep-alive").build();
+        for (Long userId : subscriptions.keySet()) {
+            for (SseSubscription subscription : snapshot(userId)) {
+                subscription.enqueue(heartbeat);
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    private List<SseSubscription> snapshot(Long userId) {
+        List<SseSubscription> copy = new ArrayList<>();
+        subscriptions.computeIfPresent(userId, (id, list) -> {
+            copy.addAll(list);
+            return list;
+        });
+        return copy;
+    }
+
+    private void unsubscribe(Long userId, SseSubscription subscription) {
+        boolean[] removed = new boolean[1];
+        subscriptions.computeIfPresent(userId, (id, list) -> {
+            removed[0] = list.remove(subscription);
+            return list.isEmpty() ? null : list;
+        });
+        if (removed[0]) {
+            connections.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+-- Query-plan regression check for the per-user todo queries: fails when a
+-- repository query no longer uses the index added for it, or needs an extra
+-- Sort that the index was meant to avoid. Run it against a migrated database:
+--
+--   psql -U todouser -d todoapp -v ON_ERROR_STOP=1 -f check-query-plans.sql
+--
+-- mvn test runs it through QueryPlanRegressionTest (Testcontainers, or the
+-- database given by -Dplan-check.jdbc-url).
+--
+-- A synthetic data set (negative ids, 100 users x 2000 todos) is inserted and
+-- analyzed inside a transaction that is rolled back, so plans do not depend on
+-- what the database already holds and nothing is left behind. Sequential scans
+-- are disabled on top of that.
+
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+INSERT INTO users (id, username, email, password, role, enabled, token_version, created_at)
+SELECT -u, 'plan-check-' || u, 'plan-check-' || u || '@example.invalid', '-', 'USER', true, 0, now()
+FROM generate_series(1, 100) u;
+
+INSERT INTO categories (id, name, color, user_id, created_at)
+SELECT -c, 'Category ' || c, '#1976d2', -(1 + c % 100), now()
+FROM generate_series(1, 500) c;
+
+-- Three in four todos completed, one in three with a due date
+INSERT INTO todos (id, title, completed, priority, due_date, user_id, category_id, created_at, updated_at)
+SELECT -t, 'Todo ' || t, t % 4 <> 0, 'MEDIUM',
+       CASE WHEN t % 3 = 0 THEN now() + (t % 60 - 30) * interval '1 day' END,
+       -(1 + t % 100),
+       CASE WHEN t % 2 = 0 THEN -(1 + t % 500) END,
+       now() - t * interval '1 minute', now() - t * interval '1 minute'
+FROM generate_series(1, 200000) t;
+
+INSERT INTO todo_tombstones (id, todo_id, user_id, deleted_at)
+SELECT -d, -d, -(1 + d % 100), now() - d * interval '1 minute'
+FROM generate_series(1, 20000) d;
+
+ANALYZE users;
+ANALYZE categories;
+ANALYZE todos;
+ANALYZE todo_tombstones;
+
+SET LOCAL enable_seqscan = off;
+
+CREATE FUNCTION pg_temp.expect_index(query text, index_name text, allow_sort boolean DEFAULT false)
+RETURNS void AS $$
+DECLARE
+    line text;
+    plan text := '';
+BEGIN
+    FOR line IN EXECUTE 'EXPLAIN ' || query LOOP
+        plan := plan || line || E'\n';
+    END LOOP;
+
+    IF position(index_name IN plan) = 0 THEN
+        RAISE EXCEPTION E'% is not used by:\n%\n%', index_name, query, plan;
+    END IF;
+    IF NOT allow_sort AND position('Sort' IN plan) > 0 THEN
+        RAISE EXCEPTION E'% needs an extra sort:\n%\n%', index_name, query, plan;
+    END IF;
+    RAISE NOTICE 'ok: %', index_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- TodoRepositoryImpl.findTodoPage, first page and next page
+SELECT pg_temp.expect_index(
+    'SELECT * FROM todos WHERE user_id = -1 ORDER BY created_at DESC, id DESC LIMIT 51',
+    'idx_todos_user_created');
+SELECT pg_temp.expect_index(
+    'SELECT * FROM todos WHERE user_id = -1 AND (created_at < now() OR (created_at = now() AND id < -100)) '
+    || 'ORDER BY created_at DESC, id DESC LIMIT 51',
+    'idx_todos_user_created');
+
+-- findTodoPage with ?completed=
+SELECT pg_temp.expect_index(
+    'SELECT * FROM todos WHERE user_id = -1 AND completed = false ORDER BY created_at DESC, id DESC LIMIT 51',
+    'idx_todos_user_completed_created');
+
+-- findOverdueTodos, findPendingDueBefore (agenda) and findPendingDueBetween (due today)
+SELECT pg_temp.expect_index(
+    'SELECT * FROM todos WHERE user_id = -1 AND completed = false AND due_date < now() ORDER BY due_date, id',
+    'idx_todos_user_open_due', true);
+SELECT pg_temp.expect_index(
+    'SELECT * FROM todos WHERE user_id = -1 AND completed = false '
+    || 'AND due_date >= current_date AND due_date < current_date + 1 ORDER BY due_date, id',
+    'idx_todos_user_open_due', true);
+
+-- findByUserIdAndCategoryIdOrderByCreatedAtDesc
+SELECT pg_temp.expect_index(
+    'SELECT * FROM todos WHERE user_id = -1 AND category_id = -1 ORDER BY created_at DESC',
+    'idx_todos_user_category', true);
+
+-- findChangedAfter. The triggers stamp all synthetic rows with this
+-- transaction's id, so poll just above it, as a client that is up to date does
+SELECT pg_temp.expect_index(
+    format('SELECT * FROM todos WHERE user_id = -1 AND change_xid >= %s ORDER BY change_xid, id LIMIT 1001',
+           pg_current_xact_id()::text::bigint + 1),
+    'idx_todos_user_change');
+
+-- TodoTombstoneRepository.findDeletedTodoIdsAfter
+SELECT pg_temp.expect_index(
+    format('SELECT todo_id FROM todo_tombstones WHERE user_id = -1 AND change_xid >= %s '
+           || 'ORDER BY change_xid, id LIMIT 1001',
+           pg_current_xact_id()::text::bigint + 1),
+    'idx_todo_tombstones_user_change');
+
+-- CategoryRepository.findByUserId...
+SELECT pg_temp.expect_index(
+    'SELECT * FROM categories WHERE user_id = -1',
+    'idx_categories_user');
+
+-- CategoryRepository.findResponsesWithTodoCountByUserId: counts come from the todos index
+SELECT pg_temp.expect_index(
+    'SELECT c.id, count(t.id) FROM categories c '
+    || 'LEFT JOIN todos t ON t.category_id = c.id AND t.user_id = -1 '
+    || 'WHERE c.user_id = -1 GROUP BY c.id, c.name ORDER BY c.name, c.id',
+    'idx_todos_user_category', true);
+
+-- TodoRepository.existsByUserIdAndCategoryId (category delete guard)
+SELECT pg_temp.expect_index(
+    'SELECT t.id FROM todos t WHERE t.user_id = -1 AND t.category_id = -2 LIMIT 1',
+    'idx_todos_user_category');
+
+ROLLBACK;
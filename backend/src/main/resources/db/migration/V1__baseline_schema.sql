@@ -0,0 +1,66 @@
+-- Schema as Hibernate generated it for PostgreSQL before migrations were
+-- introduced. Databases that already have these tables are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE todos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE todo_tombstones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id            bigint       NOT NULL,
+    username      varchar(50)  NOT NULL,
+    email         varchar(100) NOT NULL,
+    password      varchar(255) NOT NULL,
+    first_name    varchar(50),
+    last_name     varchar(50),
+    role          varchar(255) NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    enabled       boolean      NOT NULL,
+    token_version integer,
+    created_at    timestamp(6) NOT NULL,
+    updated_at    timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id          bigint       NOT NULL,
+    name        varchar(100) NOT NULL,
+    color       varchar(7)   NOT NULL,
+    description varchar(255), -- read and written by CategoryService
+    user_id     bigint       NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE todos (
+    id           bigint       NOT NULL,
+    title        varchar(255) NOT NULL,
+    description  text,
+    completed    boolean      NOT NULL,
+    priority     varchar(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    due_date     timestamp(6),
+    completed_at timestamp(6),
+    user_id      bigint       NOT NULL,
+    category_id  bigint,
+    created_at   timestamp(6) NOT NULL,
+    updated_at   timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todos_user FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT fk_todos_category FOREIGN KEY (category_id) REFERENCES categories
+);
+
+CREATE INDEX idx_todos_user_updated ON todos (user_id, updated_at);
+
+CREATE TABLE todo_tombstones (
+    id         bigint       NOT NULL,
+    todo_id    bigint       NOT NULL,
+    user_id    bigint       NOT NULL,
+    deleted_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_todo_tombstones_user_deleted ON todo_tombstones (user_id, deleted_at);
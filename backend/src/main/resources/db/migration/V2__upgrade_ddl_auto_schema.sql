@@ -0,0 +1,56 @@
+-- Brings a database that was created by ddl-auto=update (and baselined at
+-- version 1) up to the V1 schema. Every step is a no-op on a database that
+-- V1 created.
+
+-- Revocation support added users.token_version
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version integer;
+
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS description varchar(255);
+
+-- users, categories and todos used IDENTITY (serial) ids before they drew
+-- ids from pooled sequences (allocationSize = 50) so Hibernate can batch
+-- INSERTs. Start each sequence above the ids already handed out.
+DO $$
+DECLARE
+    tbl text;
+    seq text;
+    start_id bigint;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['users', 'categories', 'todos'] LOOP
+        seq := tbl || '_seq';
+
+        IF to_regclass(seq) IS NOT NULL THEN
+            CONTINUE;
+        END IF;
+
+        -- Detach the old generator: identity columns own an implicit
+        -- sequence, serial columns a nextval() default plus <table>_id_seq
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = tbl
+                     AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', tbl);
+        ELSE
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', tbl);
+            EXECUTE format('DROP SEQUENCE IF EXISTS %I', tbl || '_id_seq');
+        END IF;
+
+        -- The pooled optimizer treats each nextval() as the top of a block of
+        -- 50 ids, so the first value must leave a full block above MAX(id)
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) + 50 FROM %I', tbl) INTO start_id;
+        EXECUTE format('CREATE SEQUENCE %I START WITH %s INCREMENT BY 50', seq, start_id);
+    END LOOP;
+END $$;
+
+-- Delta sync added deletion tombstones and the updated_at index
+CREATE SEQUENCE IF NOT EXISTS todo_tombstones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    id         bigint       NOT NULL,
+    todo_id    bigint       NOT NULL,
+    user_id    bigint       NOT NULL,
+    deleted_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_deleted ON todo_tombstones (user_id, deleted_at);
+CREATE INDEX IF NOT EXISTS idx_todos_user_updated ON todos (user_id, updated_at);
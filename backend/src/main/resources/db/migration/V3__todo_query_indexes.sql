@@ -0,0 +1,24 @@
+-- Indexes for the per-user todo queries. Built CONCURRENTLY so writes are
+-- not blocked on large tables; Flyway runs this script outside a transaction.
+--
+-- db/check-query-plans.sql asserts that the repository queries use them.
+
+-- Default list and its keyset pagination: ORDER BY created_at DESC, id DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_created
+    ON todos (user_id, created_at DESC, id DESC);
+
+-- List filtered by completed, same order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_completed_created
+    ON todos (user_id, completed, created_at DESC, id DESC);
+
+-- Overdue and upcoming todos only ever look at open ones
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_open_due
+    ON todos (user_id, due_date) WHERE completed = false;
+
+-- Todos by category
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_category
+    ON todos (user_id, category_id);
+
+-- Categories are always listed per user; also covers the foreign key
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_user
+    ON categories (user_id);
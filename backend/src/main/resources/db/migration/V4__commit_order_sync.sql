@@ -0,0 +1,28 @@
+-- Delta sync (/api/todos/changes) follows commit order instead of wall-clock
+-- time. Every row written to todos or todo_tombstones is stamped with the id
+-- of the writing transaction. A sync token is the oldest transaction id still
+-- running when the poll started (pg_snapshot_xmin), so a transaction that
+-- commits after a poll always has an id at or above the token that poll
+-- handed out, however long it took to commit.
+--
+-- Rows written before this migration have no stamp. Tokens issued before it
+-- carry no transaction id and are answered with a reset, so every client
+-- reloads once.
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS change_xid bigint;
+ALTER TABLE todo_tombstones ADD COLUMN IF NOT EXISTS change_xid bigint;
+
+CREATE OR REPLACE FUNCTION stamp_change_xid() RETURNS trigger AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER todos_stamp_change_xid
+    BEFORE INSERT OR UPDATE ON todos
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_xid();
+
+CREATE TRIGGER todo_tombstones_stamp_change_xid
+    BEFORE INSERT ON todo_tombstones
+    FOR EACH ROW EXECUTE FUNCTION stamp_change_xid();
@@ -0,0 +1,10 @@
+-- Indexes for the commit-ordered delta sync queries (see V4). Built
+-- CONCURRENTLY, so this script runs outside a transaction like V3.
+
+-- TodoRepository.findChangedAfter: WHERE user_id = ? AND change_xid >= ? ORDER BY change_xid, id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_change
+    ON todos (user_id, change_xid, id);
+
+-- TodoTombstoneRepository.findDeletedTodoIdsAfter, same shape
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tombstones_user_change
+    ON todo_tombstones (user_id, change_xid, id);
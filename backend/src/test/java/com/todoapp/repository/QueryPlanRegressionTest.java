@@ -0,0 +1,96 @@
+package com.todoapp.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs {@code db/check-query-plans.sql} against a migrated PostgreSQL
+ * database, so a query that stops using its index fails the build.
+ *
+ * <p>The database is a Testcontainers PostgreSQL instance, or an existing
+ * one given by {@code -Dplan-check.jdbc-url} (with {@code plan-check.username}
+ * and {@code plan-check.password}). Without either, the test is skipped. The
+ * script rolls back its own data, but the given database is migrated first,
+ * so point it at a scratch database.</p>
+ */
+class QueryPlanRegressionTest {
+
+    private static PostgreSQLContainer<?> container;
+    private static String url;
+    private static String username;
+    private static String password;
+
+    @BeforeAll
+    static void startDatabase() {
+        url = System.getProperty("plan-check.jdbc-url");
+        username = System.getProperty("plan-check.username", "postgres");
+        password = System.getProperty("plan-check.password", "");
+        if (url == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                    "No Docker and no plan-check.jdbc-url; query plans not checked");
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            url = container.getJdbcUrl();
+            username = container.getUsername();
+            password = container.getPassword();
+        }
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration")
+                // As spring.flyway.postgresql.transactional-lock: V3 builds its indexes CONCURRENTLY
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Test
+    void repositoryQueriesUseTheirIndexes() throws IOException, SQLException {
+        List<String> checked = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            // A plan that misses its index raises an exception from the script's DO blocks
+            statement.execute(loadScript());
+            while (statement.getMoreResults() || statement.getUpdateCount() != -1) {
+                // Drain the results of the remaining statements so their notices are collected
+            }
+            for (SQLWarning notice = statement.getWarnings(); notice != null; notice = notice.getNextWarning()) {
+                checked.add(notice.getMessage());
+            }
+        }
+        assertFalse(checked.isEmpty(), "The script reported no checked queries");
+    }
+
+    private static String loadScript() throws IOException {
+        try (InputStream in = QueryPlanRegressionTest.class.getResourceAsStream("/db/check-query-plans.sql")) {
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            // psql meta-commands such as \set are not SQL
+            return script.replaceAll("(?m)^\\\\.*$", "");
+        }
+    }
+}
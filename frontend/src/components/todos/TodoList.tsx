@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import {
   Box,
   Paper,
@@ -7,6 +7,7 @@ import {
   Fab,
   CircularProgress,
   Alert,
+  Button,
   TextField,
   InputAdornment,
   Chip,
@@ -16,26 +17,33 @@ import {
   SelectChangeEvent,
 } from '@mui/material';
 import { Add, Search, FilterList } from '@mui/icons-material';
-import { Todo } from '../../types/todo';
+import { Todo, TodoChanges, TodoFilters, TodoPage } from '../../types/todo';
 import { todoService } from '../../services/todoService';
+import { eventService } from '../../services/eventService';
 import { useAsync } from '../../hooks/useAsync';
 import TodoItem from './TodoItem';
 import TodoForm from './TodoForm';
 import { getPriorityColor, getPriorityLabel } from '../../utils/priorityUtils';
 
+// Fallback poll of /todos/changes for when the event stream is down
+const SYNC_INTERVAL_MS = 60000;
+
 const TodoList: React.FC = () => {
   const [todos, setTodos] = useState<Todo[]>([]);
+  const syncToken = useRef<string | null>(null);
+  // Cursor of the next page; null once the last page is loaded
+  const nextCursor = useRef<string | null>(null);
+  const [hasMore, setHasMore] = useState(false);
+  const [searchPartial, setSearchPartial] = useState(false);
+  const syncing = useRef(false);
+  const syncPending = useRef(false);
   const [searchQuery, setSearchQuery] = useState('');
   const [filterStatus, setFilterStatus] = useState<'all' | 'pending' | 'completed'>('all');
   const [isFormOpen, setIsFormOpen] = useState(false);
   const [editingTodo, setEditingTodo] = useState<Todo | null>(null);
 
-  const { 
-    execute: fetchTodos, 
-    loading: fetchingTodos, 
-    error: fetchError 
-  } = useAsync(async () => {
-    let params: any = {};
+  const buildFilters = (): TodoFilters => {
+    const params: TodoFilters = {};
     
     if (searchQuery.trim()) {
       params.search = searchQuery.trim();
@@ -45,10 +53,62 @@ const TodoList: React.FC = () => {
       params.completed = filterStatus === 'completed';
     }
 
-    const data = await todoService.getTodos(params);
-    setTodos(data);
+    return params;
+  };
+
+  const setNextPage = (page: TodoPage) => {
+    nextCursor.current = page.hasMore && page.nextCursor ? page.nextCursor : null;
+    setHasMore(nextCursor.current !== null);
+    setSearchPartial(!!page.partial);
+  };
+
+  const { 
+    execute: fetchTodos, 
+    loading: fetchingTodos, 
+    error: fetchError 
+  } = useAsync(async () => {
+    // Taken before the list so nothing changed in between is missed
+    const changes = await todoService.getChanges();
+    syncToken.current = changes.token;
+
+    const page = await todoService.getTodosPage(buildFilters());
+    setTodos(page.items);
+    setNextPage(page);
   });
 
+  const {
+    execute: loadMore,
+    loading: loadingMore,
+    error: loadMoreError
+  } = useAsync(async () => {
+    if (!nextCursor.current) {
+      return;
+    }
+    const page = await todoService.getTodosPage({ ...buildFilters(), cursor: nextCursor.current });
+    setTodos(prev => {
+      // A todo synced in while paging may already be on screen
+      const loaded = new Set(prev.map(todo => todo.id));
+      return [...prev, ...page.items.filter(todo => !loaded.has(todo.id))];
+    });
+    setNextPage(page);
+  });
+
+  const byNewest = (a: Todo, b: Todo): number =>
+    b.createdAt.localeCompare(a.createdAt) || b.id - a.id;
+
+  const applyChanges = (current: Todo[], changes: TodoChanges): Todo[] => {
+    const replaced = new Set<number>(changes.deletedIds);
+    changes.items.forEach(todo => replaced.add(todo.id));
+    const kept = current.filter(todo => !replaced.has(todo.id));
+    // Todos past the last loaded one belong to pages not fetched yet
+    const last = nextCursor.current && current.length > 0 ? current[current.length - 1] : null;
+    const matching = changes.items.filter(todo =>
+      (filterStatus === 'all' || todo.completed === (filterStatus === 'completed'))
+        && (last === null || byNewest(todo, last) <= 0)
+    );
+    return [...matching, ...kept].sort(byNewest);
+  };
+
   const { execute: deleteTodo } = useAsync(async (id: number) => {
     await todoService.deleteTodo(id);
     setTodos(prev => prev.filter(todo => todo.id !== id));
@@ -65,6 +125,53 @@ const TodoList: React.FC = () => {
     fetchTodos();
   }, [searchQuery, filterStatus]);
 
+  const syncChanges = async () => {
+    if (!syncToken.current) {
+      return;
+    }
+    // Bursts of events collapse into one follow-up request
+    if (syncing.current) {
+      syncPending.current = true;
+      return;
+    }
+    syncing.current = true;
+    try {
+      do {
+        syncPending.current = false;
+        const changes = await todoService.getChanges(syncToken.current);
+        syncToken.current = changes.token;
+        if (changes.reset) {
+          await fetchTodos();
+        } else if (changes.items.length > 0 || changes.deletedIds.length > 0) {
+          setTodos(prev => applyChanges(prev, changes));
+        }
+      } while (syncPending.current);
+    } catch {
+      // Picked up again by the next event or poll
+    } finally {
+      syncing.current = false;
+    }
+  };
+
+  useEffect(() => {
+    // Search results are ranked by the server, so only plain lists are patched with deltas
+    if (searchQuery.trim()) {
+      return;
+    }
+
+    const unsubscribe = eventService.subscribe((name) => {
+      if (name === 'todo' || name === 'overflow') {
+        syncChanges();
+      }
+    });
+    const timer = window.setInterval(syncChanges, SYNC_INTERVAL_MS);
+
+    return () => {
+      unsubscribe();
+      window.clearInterval(timer);
+    };
+  }, [searchQuery, filterStatus]);
+
   const handleSearchChange = (e: React.ChangeEvent<HTMLInputElement>) => {
     setSearchQuery(e.target.value);
   };
@@ -115,6 +222,8 @@ const TodoList: React.FC = () => {
 
   const pendingCount = todos.filter(todo => !todo.completed).length;
   const completedCount = todos.filter(todo => todo.completed).length;
+  // Counts cover the loaded pages only
+  const countLabel = (count: number) => hasMore ? `${count}+` : `${count}`;
 
   return (
     <Box>
@@ -126,17 +235,17 @@ const TodoList: React.FC = () => {
         
         <Box sx={{ display: 'flex', gap: 1, mb: 2, flexWrap: 'wrap' }}>
           <Chip 
-            label={`Total: ${todos.length}`} 
+            label={`Total: ${countLabel(todos.length)}`} 
             color="default" 
             variant="outlined" 
           />
           <Chip 
-            label={`Pending: ${pendingCount}`} 
+            label={`Pending: ${countLabel(pendingCount)}`} 
             color="warning" 
             variant="outlined" 
           />
           <Chip 
-            label={`Completed: ${completedCount}`} 
+            label={`Completed: ${countLabel(completedCount)}`} 
             color="success" 
             variant="outlined" 
           />
@@ -178,6 +287,12 @@ const TodoList: React.FC = () => {
         </Box>
       </Paper>
 
+      {searchPartial && (
+        <Alert severity="info" sx={{ mb: 2 }}>
+          Search covered your most recent todos only; older ones may also match.
+        </Alert>
+      )}
+
       {/* Error Alert */}
       {fetchError && (
         <Alert severity="error" sx={{ mb: 2 }}>
@@ -218,6 +333,22 @@ const TodoList: React.FC = () => {
               ))}
             </List>
           )}
+
+          {hasMore && (
+            <Box display="flex" flexDirection="column" alignItems="center" gap={1} p={2}>
+              {loadMoreError && (
+                <Alert severity="error">Failed to load more todos: {loadMoreError}</Alert>
+              )}
+              <Button
+                variant="outlined"
+                onClick={() => loadMore().catch(() => undefined)}
+                disabled={loadingMore}
+                startIcon={loadingMore ? <CircularProgress size={16} /> : undefined}
+              >
+                Load more
+              </Button>
+            </Box>
+          )}
         </Paper>
       )}
 
@@ -1,5 +1,5 @@
 import { apiClient } from './apiClient';
-import { LoginRequest, LoginResponse, CreateUserRequest, User } from '../types';
+import { LoginRequest, LoginResponse, CreateUserRequest, User, JwtResponse } from '../types';
 
 export const authService = {
   async login(credentials: LoginRequest): Promise<LoginResponse> {
@@ -21,6 +21,13 @@ export const authService = {
     await apiClient.post('/auth/logout');
   },
 
+  async changePassword(currentPassword: string, newPassword: string): Promise<JwtResponse> {
+    const response = await apiClient.post<JwtResponse>('/auth/change-password', { currentPassword, newPassword });
+    // The old token is revoked by the change; keep using the one issued with it
+    localStorage.setItem('token', response.data.token);
+    return response.data;
+  },
+
   async getCurrentUser(): Promise<User> {
     const response = await apiClient.get<User>('/auth/me');
     return response.data;
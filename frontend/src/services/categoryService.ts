@@ -26,8 +26,8 @@ export const categoryService = {
     await apiClient.delete(`/categories/${id}`);
   },
 
-  async getCategoriesWithTodos(): Promise<Category[]> {
-    const response = await apiClient.get<Category[]>('/categories/with-todos');
+  async getCategoriesWithTodos(page?: number, size?: number): Promise<Category[]> {
+    const response = await apiClient.get<Category[]>('/categories/with-todos', { page, size });
     return response.data;
   },
 };
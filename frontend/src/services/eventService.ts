@@ -0,0 +1,77 @@
+// Wait before reconnecting after the stream ends or fails
+const RECONNECT_DELAY_MS = 5000;
+
+export type ChangeEventHandler = (name: string, data: any) => void;
+
+export const eventService = {
+  /**
+   * Opens the server-sent event stream of the current user's changes.
+   * Uses fetch rather than EventSource so the bearer token can be sent.
+   * Returns a function that closes the stream.
+   */
+  subscribe(onEvent: ChangeEventHandler): () => void {
+    const controller = new AbortController();
+    const baseUrl = import.meta.env.VITE_API_URL || '/api';
+
+    const connect = async (): Promise<void> => {
+      const token = localStorage.getItem('token');
+      const response = await fetch(`${baseUrl}/events`, {
+        headers: {
+          Accept: 'text/event-stream',
+          ...(token ? { Authorization: `Bearer ${token}` } : {}),
+        },
+        signal: controller.signal,
+      });
+      if (!response.ok || !response.body) {
+        throw new Error(`Event stream failed with status ${response.status}`);
+      }
+
+      const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) {
+          return;
+        }
+        buffer += value;
+
+        let end = buffer.indexOf('\n\n');
+        while (end >= 0) {
+          const block = buffer.slice(0, end);
+          buffer = buffer.slice(end + 2);
+          end = buffer.indexOf('\n\n');
+
+          let name = 'message';
+          const data: string[] = [];
+          block.split('\n').forEach(line => {
+            if (line.startsWith('event:')) {
+              name = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+              data.push(line.slice(5));
+            }
+          });
+          // Blocks without data are keep-alive comments
+          if (data.length > 0) {
+            onEvent(name, JSON.parse(data.join('\n')));
+          }
+        }
+      }
+    };
+
+    const run = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await connect();
+        } catch {
+          // Reconnect below
+        }
+        if (!controller.signal.aborted) {
+          await new Promise(resolve => setTimeout(resolve, RECONNECT_DELAY_MS));
+        }
+      }
+    };
+
+    run();
+    return () => controller.abort();
+  },
+};
@@ -2,3 +2,4 @@ export * from './apiClient';
 export * from './authService';
 export * from './todoService';
 export * from './categoryService';
+export * from './eventService';
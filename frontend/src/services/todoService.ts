@@ -1,9 +1,31 @@
 import { apiClient } from './apiClient';
-import { Todo, CreateTodoRequest, UpdateTodoRequest, TodoFilters, TodoStats } from '../types';
+import {
+  Todo, CreateTodoRequest, UpdateTodoRequest, TodoFilters, TodoPage, TodoChanges, TodoStats, TodoAgenda,
+} from '../types';
+
+// Due dates are wall-clock times, so "today" is evaluated in the browser's zone
+const timeZone = (): string => Intl.DateTimeFormat().resolvedOptions().timeZone;
 
 export const todoService = {
+  // Every matching todo, following the cursor until the last page
   async getTodos(filters?: TodoFilters): Promise<Todo[]> {
-    const response = await apiClient.get<Todo[]>('/todos', filters);
+    const todos: Todo[] = [];
+    let cursor: string | undefined;
+    do {
+      const page = await todoService.getTodosPage({ ...filters, cursor });
+      todos.push(...page.items);
+      cursor = page.hasMore && page.nextCursor ? page.nextCursor : undefined;
+    } while (cursor);
+    return todos;
+  },
+
+  async getTodosPage(filters?: TodoFilters): Promise<TodoPage> {
+    const response = await apiClient.get<TodoPage>('/todos', filters);
+    return response.data;
+  },
+
+  async getChanges(since?: string | null): Promise<TodoChanges> {
+    const response = await apiClient.get<TodoChanges>('/todos/changes', since ? { since } : undefined);
     return response.data;
   },
 
@@ -37,22 +59,27 @@ export const todoService = {
   },
 
   async getStats(): Promise<TodoStats> {
-    const response = await apiClient.get<TodoStats>('/todos/stats');
+    const response = await apiClient.get<TodoStats>('/todos/stats', { tz: timeZone() });
     return response.data;
   },
 
   async getTodoStats(): Promise<TodoStats> {
-    const response = await apiClient.get<TodoStats>('/todos/stats');
+    const response = await apiClient.get<TodoStats>('/todos/stats', { tz: timeZone() });
+    return response.data;
+  },
+
+  async getAgenda(days?: number): Promise<TodoAgenda> {
+    const response = await apiClient.get<TodoAgenda>('/todos/agenda', { tz: timeZone(), days });
     return response.data;
   },
 
   async getTodosDueToday(): Promise<Todo[]> {
-    const response = await apiClient.get<Todo[]>('/todos/due-today');
+    const response = await apiClient.get<Todo[]>('/todos/due-today', { tz: timeZone() });
     return response.data;
   },
 
   async getOverdueTodos(): Promise<Todo[]> {
-    const response = await apiClient.get<Todo[]>('/todos/overdue');
+    const response = await apiClient.get<Todo[]>('/todos/overdue', { tz: timeZone() });
     return response.data;
   },
 };
@@ -1,10 +1,11 @@
 export interface Category {
   id: number;
   name: string;
+  description?: string | null;
   color: string;
   createdAt: string;
   updatedAt: string;
-  user: {
+  user?: {
     id: number;
     username: string;
   };
@@ -13,10 +14,12 @@ export interface Category {
 
 export interface CreateCategoryRequest {
   name: string;
+  description?: string;
   color?: string;
 }
 
 export interface UpdateCategoryRequest {
   name?: string;
+  description?: string;
   color?: string;
 }
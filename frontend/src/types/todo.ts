@@ -18,7 +18,7 @@ export interface Todo {
   createdAt: string;
   updatedAt: string;
   category?: Category;
-  user: {
+  user?: {
     id: number;
     username: string;
   };
@@ -51,15 +51,45 @@ export interface UpdateTodoRequest {
 
 export interface TodoFilters {
   completed?: boolean;
+  cursor?: string;
+  size?: number;
   priority?: Priority;
   categoryId?: number;
   search?: string;
   dueDate?: 'today' | 'week' | 'overdue';
 }
 
+export interface TodoPage {
+  items: Todo[];
+  nextCursor?: string | null;
+  hasMore: boolean;
+  // Set on search results when only the most recent todos were searched
+  partial?: boolean;
+}
+
+export interface TodoChanges {
+  items: Todo[];
+  deletedIds: number[];
+  token: string;
+  reset: boolean;
+}
+
+export interface TodoAgenda {
+  date: string;
+  timeZone: string;
+  upcomingDays: number;
+  overdue: Todo[];
+  today: Todo[];
+  upcoming: Todo[];
+}
+
 export interface TodoStats {
   total: number;
   completed: number;
   pending: number;
   overdue: number;
+  dueToday: number;
+  uncategorized: number;
+  byPriority: Partial<Record<Priority, number>>;
+  byCategory: Record<number, number>;
 }